@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Compares time-to-first-frame of the plain Maven launch against the jlink image
+# with and without its AppCDS archive.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+# Build first with: mvn clean package -Pjlink-cds
+# Needs a display; on a headless machine run it under xvfb-run.
+set -euo pipefail
+
+RUNS="${1:-5}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET="$ROOT/target"
+IMAGE="$TARGET/app-image"
+MAIN="com.michaelmckibbin.tickettracking/com.tickettracking.TicketApplication"
+EXIT="-Dtickettracking.exitAfterStartup=true"
+
+if [[ ! -x "$IMAGE/bin/java" || ! -f "$IMAGE/lib/app-cds.jsa" ]]; then
+    echo "Runtime image not found; build it with: mvn clean package -Pjlink-cds" >&2
+    exit 1
+fi
+
+# JavaFX applications cannot start from the unnamed module, so the baseline uses the
+# same module path as the image but the JDK's own runtime and no application archive.
+PLAIN=(java "$EXIT" --module-path "$TARGET/modules:$TARGET/classes" -m "$MAIN")
+IMAGE_ONLY=("$IMAGE/bin/java" "$EXIT" -m "$MAIN")
+IMAGE_CDS=("$IMAGE/bin/java" "$EXIT" "-XX:SharedArchiveFile=$IMAGE/lib/app-cds.jsa" -m "$MAIN")
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+measure() {
+    local label="$1"
+    shift
+    local first_frames=() readies=()
+    # Run once untimed to warm the OS file cache
+    (cd "$ROOT" && "$@" >/dev/null 2>&1) || true
+    for ((i = 0; i < RUNS; i++)); do
+        local line
+        line=$(cd "$ROOT" && "$@" 2>/dev/null | grep '^startup-ms ' || true)
+        if [[ -z "$line" ]]; then
+            echo "$label: run $((i + 1)) did not report startup times" >&2
+            continue
+        fi
+        first_frames+=("$(sed -E 's/.*first-frame=([0-9-]+).*/\1/' <<<"$line")")
+        readies+=("$(sed -E 's/.*ready=([0-9-]+).*/\1/' <<<"$line")")
+    done
+    if ((${#first_frames[@]} == 0)); then
+        printf '%-22s %16s %12s\n' "$label" "-" "-"
+        return
+    fi
+    printf '%-22s %13s ms %9s ms\n' "$label" \
+        "$(printf '%s\n' "${first_frames[@]}" | median)" \
+        "$(printf '%s\n' "${readies[@]}" | median)"
+}
+
+echo "Median of $RUNS runs"
+printf '%-22s %16s %12s\n' "launch" "first frame" "ready"
+measure "plain (module path)" "${PLAIN[@]}"
+measure "jlink image" "${IMAGE_ONLY[@]}"
+measure "jlink image + AppCDS" "${IMAGE_CDS[@]}"
@@ -0,0 +1,188 @@
+package com.tickettracking;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * A least-recently-used cache bounded by total weight, with hit, miss and eviction
+ * counts. Each value's weight comes from a weigher (e.g. the number of tickets it
+ * holds); with a weigher of 1 the bound is simply the number of entries.
+ *
+ * Values are loaded outside the cache lock, so a slow load never blocks readers of
+ * other keys. If two threads load the same key at once, the first to finish wins and
+ * both return its value. A value heavier than the whole bound is returned but not kept.
+ */
+public class BoundedCache<K, V> {
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true); // Access order
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Loads a value that is not in the cache.
+     */
+    @FunctionalInterface
+    public interface Loader<K, V, E extends Exception> {
+        V load(K key) throws E;
+    }
+
+    public BoundedCache(long maxWeight, ToLongFunction<? super V> weigher) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("Cache weight bound cannot be negative: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Returns the cached value for the key, or loads, caches and returns it.
+     */
+    public <E extends Exception> V get(K key, Loader<? super K, ? extends V, E> loader) throws E {
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+                return entry.value;
+            }
+            misses++;
+        }
+        V value = loader.load(key);
+        synchronized (this) {
+            Entry<V> raced = entries.get(key);
+            if (raced != null) {
+                return raced.value;
+            }
+            putLocked(key, value);
+        }
+        return value;
+    }
+
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        putLocked(key, value);
+    }
+
+    public synchronized void invalidate(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized boolean containsKey(K key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, entries.size(), weight, maxWeight);
+    }
+
+    private void putLocked(K key, V value) {
+        long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maxWeight) {
+            // Could never fit: keep the other entries, and drop any older value for the key
+            invalidate(key);
+            return;
+        }
+        Entry<V> previous = entries.put(key, new Entry<>(value, valueWeight));
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += valueWeight;
+        // Evict from the least recently used end until back within the bound
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= eldest.next().getValue().weight;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long weight;
+
+        private Entry(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * A point-in-time copy of the cache counters.
+     */
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int size;
+        private final long weight;
+        private final long maxWeight;
+
+        private Stats(long hits, long misses, long evictions, int size, long weight, long maxWeight) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+            this.weight = weight;
+            this.maxWeight = maxWeight;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+
+        public long getMaxWeight() {
+            return maxWeight;
+        }
+
+        /**
+         * Returns the fraction of lookups that were hits, or 0 before the first lookup.
+         */
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d hits, %d misses (%.0f%% hit rate), %d evictions, %d entries, weight %d/%d",
+                    hits, misses, getHitRate() * 100, evictions, size, weight, maxWeight);
+        }
+    }
+}
@@ -1,39 +1,89 @@
 package com.tickettracking;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
 import java.time.LocalDateTime;
 
 /**
  * Represents a comment on a ticket in the ticket tracking system.
  * This class holds information about the comment, including its content,
  * the author, and its creation timestamp.
+ * Comments belonging to a frozen Ticket snapshot are frozen as well.
+ * Like Ticket, the timestamp is stored packed and the author is interned while
+ * deserializing; a snapshot shares its ticket ID String with the owning ticket.
+ * The content of a stored snapshot may be held compressed (see TextCodec).
  */
 public class Comment {
     private String id;
     private String ticketId;
-    private String content;
+    private Object content; // A String, or TextCodec.Compressed in stored snapshots
     private String createdBy;
-    private LocalDateTime createdAt;
+    private long createdAt = CompactTime.NONE;
+    private boolean frozen;
 
     public Comment() {}
 
     public Comment(String content, String createdBy) {
         this.content = content;
         this.createdBy = createdBy;
-        this.createdAt = LocalDateTime.now();
+        this.createdAt = CompactTime.encode(LocalDateTime.now());
     }
 
     public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
+    public void setId(String id) { checkMutable(); this.id = id; }
 
     public String getTicketId() { return ticketId; }
-    public void setTicketId(String ticketId) { this.ticketId = ticketId; }
+    public void setTicketId(String ticketId) { checkMutable(); this.ticketId = ticketId; }
 
-    public String getContent() { return content; }
-    public void setContent(String content) { this.content = content; }
+    public String getContent() { return TextCodec.text(content); }
+    public void setContent(String content) { checkMutable(); this.content = content; }
 
     public String getCreatedBy() { return createdBy; }
-    public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
+    @JsonDeserialize(using = InterningStringDeserializer.class)
+    public void setCreatedBy(String createdBy) { checkMutable(); this.createdBy = createdBy; }
+
+    public LocalDateTime getCreatedAt() { return CompactTime.decode(createdAt); }
+    public void setCreatedAt(LocalDateTime createdAt) { checkMutable(); this.createdAt = CompactTime.encode(createdAt); }
+
+    public Comment copy() {
+        Comment copy = new Comment();
+        copy.id = id;
+        copy.ticketId = ticketId;
+        copy.content = content;
+        copy.createdBy = createdBy;
+        copy.createdAt = createdAt;
+        return copy;
+    }
+
+    /**
+     * Returns a frozen copy of this comment whose ticket ID is the owning ticket's
+     * own ID instance when the two are equal.
+     */
+    Comment snapshot(String ownerId) {
+        if (frozen) {
+            return this;
+        }
+        Comment snapshot = copy();
+        if (ownerId != null && ownerId.equals(snapshot.ticketId)) {
+            snapshot.ticketId = ownerId;
+        }
+        snapshot.frozen = true;
+        return snapshot;
+    }
+
+    void compressText(TextCodec codec) {
+        if (content instanceof String text) {
+            content = codec.compress(text);
+        }
+    }
 
-    public LocalDateTime getCreatedAt() { return createdAt; }
-    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    @JsonIgnore
+    public boolean isFrozen() { return frozen; }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Comment belongs to a shared ticket snapshot");
+        }
+    }
 }
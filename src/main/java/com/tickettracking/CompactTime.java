@@ -0,0 +1,40 @@
+package com.tickettracking;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Packs a LocalDateTime into a single long so Ticket and Comment can store timestamps
+ * without keeping a LocalDateTime, LocalDate and LocalTime object per field.
+ *
+ * The value is the date-time read as if it were UTC, in nanoseconds since the epoch,
+ * which is lossless for years 1677 to 2262. No time zone conversion takes place.
+ */
+final class CompactTime {
+    static final long NONE = Long.MIN_VALUE; // Encodes null
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private CompactTime() {
+    }
+
+    static long encode(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NONE;
+        }
+        try {
+            long seconds = dateTime.toEpochSecond(ZoneOffset.UTC);
+            return Math.addExact(Math.multiplyExact(seconds, NANOS_PER_SECOND), dateTime.getNano());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Timestamp out of range: " + dateTime, e);
+        }
+    }
+
+    static LocalDateTime decode(long encoded) {
+        if (encoded == NONE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(encoded, NANOS_PER_SECOND),
+                (int) Math.floorMod(encoded, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+}
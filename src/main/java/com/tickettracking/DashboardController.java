@@ -0,0 +1,201 @@
+package com.tickettracking;
+
+import eu.hansolo.tilesfx.Tile;
+import eu.hansolo.tilesfx.TileBuilder;
+import eu.hansolo.tilesfx.skins.BarChartItem;
+import javafx.animation.AnimationTimer;
+import javafx.fxml.FXML;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.paint.Color;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Controller for the operational dashboard window.
+ * Shows live ticket counts by status and priority, activity in the last 24 hours,
+ * the ticket creation rate and TicketService latency percentiles using TilesFX tiles.
+ *
+ * Counts are read from the aggregates and time index TicketService maintains on
+ * every mutation, so a refresh never rescans the ticket store. Change events only
+ * mark the dashboard dirty; tiles are redrawn at most once per frame budget.
+ */
+public class DashboardController {
+    private static final long FRAME_BUDGET_NANOS = 250_000_000L;
+    private static final long RATE_SAMPLE_NANOS = 5_000_000_000L;
+    private static final double TILE_SIZE = 250;
+
+    private static final Color[] STATUS_COLORS = {
+            Tile.BLUE, Tile.ORANGE, Tile.YELLOW, Tile.GREEN, Tile.RED, Tile.GRAY
+    };
+    private static final Color[] PRIORITY_COLORS = {
+            Tile.GREEN, Tile.ORANGE, Tile.RED, Tile.MAGENTA
+    };
+
+    @FXML private FlowPane tilePane;
+
+    private volatile boolean dirty = true;
+
+    private TicketService ticketService;
+    private final Consumer<TicketEvent> changeListener = event -> dirty = true;
+
+    private Tile statusTile;
+    private Tile priorityTile;
+    private Tile openTile;
+    private Tile activityTile;
+    private Tile creationRateTile;
+    private Tile latencyTile;
+    private BarChartItem[] statusItems;
+    private BarChartItem[] priorityItems;
+    private BarChartItem[] latencyItems;
+
+    private long lastRender;
+    private long lastRateSample;
+    private long createdAtLastSample;
+
+    private final AnimationTimer renderTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            onPulse(now);
+        }
+    };
+
+    @FXML
+    public void initialize() {
+        statusItems = new BarChartItem[Ticket.Status.values().length];
+        for (Ticket.Status status : Ticket.Status.values()) {
+            statusItems[status.ordinal()] = new BarChartItem(status.toString(), 0, STATUS_COLORS[status.ordinal()]);
+        }
+        priorityItems = new BarChartItem[Ticket.Priority.values().length];
+        for (Ticket.Priority priority : Ticket.Priority.values()) {
+            priorityItems[priority.ordinal()] = new BarChartItem(priority.toString(), 0, PRIORITY_COLORS[priority.ordinal()]);
+        }
+        latencyItems = new BarChartItem[] {
+                new BarChartItem("p50", 0, Tile.GREEN),
+                new BarChartItem("p95", 0, Tile.ORANGE),
+                new BarChartItem("p99", 0, Tile.RED)
+        };
+
+        statusTile = TileBuilder.create()
+                .skinType(Tile.SkinType.BAR_CHART)
+                .prefSize(TILE_SIZE, TILE_SIZE)
+                .title("Tickets by status")
+                .barChartItems(statusItems)
+                .decimals(0)
+                .build();
+        priorityTile = TileBuilder.create()
+                .skinType(Tile.SkinType.BAR_CHART)
+                .prefSize(TILE_SIZE, TILE_SIZE)
+                .title("Tickets by priority")
+                .barChartItems(priorityItems)
+                .decimals(0)
+                .build();
+        openTile = TileBuilder.create()
+                .skinType(Tile.SkinType.NUMBER)
+                .prefSize(TILE_SIZE, TILE_SIZE)
+                .title("Open tickets")
+                .text("Not resolved or closed")
+                .decimals(0)
+                .build();
+        activityTile = TileBuilder.create()
+                .skinType(Tile.SkinType.NUMBER)
+                .prefSize(TILE_SIZE, TILE_SIZE)
+                .title("Created (24h)")
+                .decimals(0)
+                .build();
+        creationRateTile = TileBuilder.create()
+                .skinType(Tile.SkinType.SPARK_LINE)
+                .prefSize(TILE_SIZE, TILE_SIZE)
+                .title("Creation rate")
+                .unit("/min")
+                .decimals(1)
+                .averagingPeriod(60)
+                .build();
+        latencyTile = TileBuilder.create()
+                .skinType(Tile.SkinType.BAR_CHART)
+                .prefSize(TILE_SIZE, TILE_SIZE)
+                .title("Store latency (ms)")
+                .barChartItems(latencyItems)
+                .decimals(2)
+                .build();
+
+        tilePane.getChildren().setAll(statusTile, priorityTile, openTile, activityTile, creationRateTile, latencyTile);
+    }
+
+    /**
+     * Starts following change events from the given TicketService.
+     */
+    public void setTicketService(TicketService ticketService) {
+        stop();
+        this.ticketService = ticketService;
+        if (ticketService == null) {
+            return;
+        }
+        createdAtLastSample = ticketService.getAggregates().getCreatedTotal();
+        ticketService.addChangeListener(changeListener);
+        lastRateSample = System.nanoTime();
+        dirty = true;
+        renderTimer.start();
+    }
+
+    /**
+     * Stops rendering and detaches from the TicketService. Called when the window closes.
+     */
+    public void stop() {
+        renderTimer.stop();
+        if (ticketService != null) {
+            ticketService.removeChangeListener(changeListener);
+        }
+    }
+
+    private void onPulse(long now) {
+        if (now - lastRender < FRAME_BUDGET_NANOS) {
+            return;
+        }
+        boolean sampleRate = now - lastRateSample >= RATE_SAMPLE_NANOS;
+        if (!dirty && !sampleRate) {
+            return;
+        }
+        lastRender = now;
+        dirty = false;
+
+        TicketAggregates aggregates = ticketService.getAggregates();
+        int maxStatus = 1;
+        for (Ticket.Status status : Ticket.Status.values()) {
+            int count = aggregates.getStatusCount(status);
+            statusItems[status.ordinal()].setValue(count);
+            maxStatus = Math.max(maxStatus, count);
+        }
+        statusTile.setMaxValue(maxStatus);
+
+        int maxPriority = 1;
+        for (Ticket.Priority priority : Ticket.Priority.values()) {
+            int count = aggregates.getPriorityCount(priority);
+            priorityItems[priority.ordinal()].setValue(count);
+            maxPriority = Math.max(maxPriority, count);
+        }
+        priorityTile.setMaxValue(maxPriority);
+        openTile.setValue(aggregates.getOpenCount());
+
+        LocalDateTime dayAgo = LocalDateTime.now().minusHours(24);
+        activityTile.setValue(ticketService.countCreatedBetween(dayAgo, null));
+        activityTile.setText(ticketService.countUpdatedBetween(dayAgo, null) + " updated");
+
+        if (sampleRate) {
+            long created = aggregates.getCreatedTotal();
+            double minutes = (now - lastRateSample) / 60_000_000_000.0;
+            creationRateTile.setValue((created - createdAtLastSample) / minutes);
+            createdAtLastSample = created;
+            lastRateSample = now;
+        }
+
+        LatencyRecorder.Snapshot latency = ticketService.getLatency(TicketService.Operation.SAVE).snapshot()
+                .merge(ticketService.getLatency(TicketService.Operation.UPDATE).snapshot())
+                .merge(ticketService.getLatency(TicketService.Operation.DELETE).snapshot());
+        double p99 = latency.getPercentileMillis(99);
+        latencyItems[0].setValue(latency.getPercentileMillis(50));
+        latencyItems[1].setValue(latency.getPercentileMillis(95));
+        latencyItems[2].setValue(p99);
+        latencyTile.setMaxValue(Math.max(1, p99));
+    }
+}
@@ -0,0 +1,91 @@
+package com.tickettracking;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * A loaded edit-ticket-dialog.fxml scene graph together with its controller and Stage,
+ * kept around so the dialog can be shown repeatedly without re-parsing the FXML.
+ *
+ * The scene graph can be loaded on a background thread with {@link #preload(Executor)},
+ * because it is not attached to a live scene until it is first shown. The Stage itself
+ * is created lazily on the FX application thread.
+ */
+public class EditTicketDialog {
+    private static final String FXML = "/views/edit-ticket-dialog.fxml";
+
+    private final Parent root;
+    private final EditTicketDialogController controller;
+    private Stage stage;
+
+    private EditTicketDialog(Parent root, EditTicketDialogController controller) {
+        this.root = root;
+        this.controller = controller;
+    }
+
+    /**
+     * Loads the dialog FXML on the calling thread.
+     */
+    public static EditTicketDialog load() throws IOException {
+        FXMLLoader loader = new FXMLLoader(EditTicketDialog.class.getResource(FXML));
+        Parent root = loader.load();
+        EditTicketDialogController controller = loader.getController();
+        if (controller == null) {
+            throw new IOException("Controller not initialized for " + FXML);
+        }
+        return new EditTicketDialog(root, controller);
+    }
+
+    /**
+     * Loads the dialog FXML on the given executor.
+     */
+    public static CompletableFuture<EditTicketDialog> preload(Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return load();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    public EditTicketDialogController getController() {
+        return controller;
+    }
+
+    public boolean isShowing() {
+        return stage != null && stage.isShowing();
+    }
+
+    /**
+     * Shows the dialog for the given ticket and blocks until it is closed. The controller
+     * is reset first, so nothing from a previous use carries over.
+     * Must be called on the FX application thread.
+     *
+     * @return true if the user saved changes or added a comment
+     */
+    public boolean showAndWait(String title, Ticket ticket, UserService userService, Window owner) {
+        if (stage == null) {
+            stage = new Stage();
+            stage.initModality(Modality.APPLICATION_MODAL);
+            if (owner != null) {
+                stage.initOwner(owner);
+            }
+            stage.setScene(new Scene(root));
+        }
+        controller.setUserService(userService);
+        controller.setTicket(ticket);
+        stage.setTitle(title);
+        stage.showAndWait();
+        return controller.isModified();
+    }
+}
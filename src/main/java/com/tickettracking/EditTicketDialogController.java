@@ -1,5 +1,6 @@
 package com.tickettracking;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -12,11 +13,15 @@ import com.tickettracking.Comment;
 import com.tickettracking.Ticket;
 import com.tickettracking.UserService;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * Controller class for handling the Edit Ticket dialog.
  * Provides functionality to update ticket details, manage ticket comments,
  * and validate input fields in the dialog.
+ *
+ * One controller is reused for every edit (see EditTicketDialog), so setTicket
+ * resets all state left over from the previous ticket.
  */
 public class EditTicketDialogController {
     @FXML private TextField titleField;
@@ -27,26 +32,100 @@ public class EditTicketDialogController {
     @FXML private ListView<String> commentsListView;
     @FXML private TextField newCommentField;
 
+    private static final int MAX_SUGGESTIONS = 50;
+
     private Ticket ticket;
     private UserService userService;
+    private boolean modified; // Set once the ticket was saved or a comment was added
+    private boolean updatingSuggestions; // Guards against feedback from our own editor updates
+    private final Runnable usersChanged = () -> Platform.runLater(this::refreshSuggestions);
 
     @FXML
     public void initialize() {
         // Initialize combo boxes with enum values
         statusComboBox.getItems().setAll(Ticket.Status.values());
         priorityComboBox.getItems().setAll(Ticket.Priority.values());
+
+        // Assignee is typed with suggestions from the user directory rather than
+        // picked from a list of every user
+        assignedToComboBox.setEditable(true);
+        assignedToComboBox.setPromptText("Unassigned");
+        assignedToComboBox.getEditor().textProperty().addListener((obs, oldText, newText) -> {
+            if (!updatingSuggestions) {
+                showSuggestions(newText);
+            }
+        });
     }
     
     public void setUserService(UserService userService) {
+        if (this.userService == userService) {
+            return;
+        }
+        if (this.userService != null) {
+            this.userService.removeChangeListener(usersChanged);
+        }
         this.userService = userService;
-        if (userService != null && assignedToComboBox != null) {
-            assignedToComboBox.getItems().clear();
-            assignedToComboBox.getItems().add(null); // "Unassigned" option
-            assignedToComboBox.getItems().addAll(userService.getUsernames());
+        if (userService != null) {
+            userService.addChangeListener(usersChanged);
+        }
+    }
+
+    private void refreshSuggestions() {
+        if (assignedToComboBox.getScene() != null && assignedToComboBox.getScene().getWindow() != null
+                && assignedToComboBox.getScene().getWindow().isShowing()) {
+            showSuggestions(assignedToComboBox.getEditor().getText());
+        }
+    }
+
+    private void showSuggestions(String text) {
+        if (userService == null) {
+            return;
+        }
+        String prefix = text == null ? "" : text.trim();
+        List<String> suggestions = userService.findUsernamesByPrefix(prefix, MAX_SUGGESTIONS);
+        updatingSuggestions = true;
+        try {
+            // Replacing the items resets the editor, so restore what the user typed
+            int caret = assignedToComboBox.getEditor().getCaretPosition();
+            assignedToComboBox.getItems().setAll(suggestions);
+            assignedToComboBox.getEditor().setText(text);
+            assignedToComboBox.getEditor().positionCaret(Math.min(caret, text == null ? 0 : text.length()));
+        } finally {
+            updatingSuggestions = false;
+        }
+        boolean exactMatch = suggestions.size() == 1 && suggestions.get(0).equalsIgnoreCase(prefix);
+        if (!prefix.isEmpty() && !suggestions.isEmpty() && !exactMatch && assignedToComboBox.isFocused()) {
+            assignedToComboBox.show();
+        } else {
+            assignedToComboBox.hide();
         }
     }
 
+    /**
+     * Clears everything shown for the previous ticket.
+     */
+    public void reset() {
+        ticket = null;
+        modified = false;
+        titleField.clear();
+        statusComboBox.setValue(null);
+        priorityComboBox.setValue(null);
+        updatingSuggestions = true;
+        try {
+            assignedToComboBox.hide();
+            assignedToComboBox.setValue(null);
+            assignedToComboBox.getEditor().clear();
+        } finally {
+            updatingSuggestions = false;
+        }
+        descriptionArea.clear();
+        commentsListView.getItems().clear();
+        newCommentField.clear();
+        titleField.requestFocus();
+    }
+
     public void setTicket(Ticket ticket) {
+        reset();
         this.ticket = ticket;
 
         // Populate fields with ticket data
@@ -54,7 +133,14 @@ public class EditTicketDialogController {
             titleField.setText(ticket.getTitle());
             statusComboBox.setValue(ticket.getStatus());
             priorityComboBox.setValue(ticket.getPriority());
-            assignedToComboBox.setValue(ticket.getAssignedTo());
+            updatingSuggestions = true;
+            try {
+                assignedToComboBox.setValue(ticket.getAssignedTo());
+            } finally {
+                updatingSuggestions = false;
+            }
+            assignedToComboBox.getItems().setAll(
+                    userService != null ? userService.findUsernamesByPrefix("", MAX_SUGGESTIONS) : List.of());
             descriptionArea.setText(ticket.getDescription());
             loadComments();
         }
@@ -70,8 +156,9 @@ public class EditTicketDialogController {
             ticket.setTitle(titleField.getText().trim());
             ticket.setStatus(statusComboBox.getValue());
             ticket.setPriority(priorityComboBox.getValue());
-            ticket.setAssignedTo(assignedToComboBox.getValue());
+            ticket.setAssignedTo(selectedAssignee());
             ticket.setDescription(descriptionArea.getText().trim());
+            modified = true;
         }
         closeDialog();
     }
@@ -94,6 +181,24 @@ public class EditTicketDialogController {
         
         return true;
     }
+
+    private String assigneeText() {
+        // The editor holds the latest text even if the ComboBox value was not committed yet
+        String text = assignedToComboBox.getEditor().getText();
+        return text == null ? "" : text.trim();
+    }
+
+    /**
+     * Returns the canonical username for the typed assignee, or null for unassigned.
+     */
+    private String selectedAssignee() {
+        String assignee = assigneeText();
+        if (assignee.isEmpty()) {
+            return null;
+        }
+        User user = userService != null ? userService.findUserByUsername(assignee) : null;
+        return user != null ? user.getUsername() : assignee;
+    }
     
     private void showAlert(String title, String header, String content) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
@@ -111,6 +216,7 @@ public class EditTicketDialogController {
                 userService.getCurrentUser().getUsername() : "Unknown";
             Comment comment = new Comment(commentText, author);
             ticket.addComment(comment);
+            modified = true;
             newCommentField.clear();
             loadComments();
         }
@@ -133,6 +239,10 @@ public class EditTicketDialogController {
         }
     }
 
+    public boolean isModified() {
+        return modified;
+    }
+
     @FXML
     private void handleCancel() {
         closeDialog();
@@ -0,0 +1,26 @@
+package com.tickettracking;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Deserializes a string field through StringPool.SHARED, so values that repeat across
+ * tickets (assignees, comment authors) share one instance on the heap.
+ * Only use it for fields with few distinct values; unique values would just churn the pool.
+ * Used with {@code @JsonDeserialize(using = InterningStringDeserializer.class)}.
+ */
+public class InterningStringDeserializer extends StdScalarDeserializer<String> {
+
+    public InterningStringDeserializer() {
+        super(String.class);
+    }
+
+    @Override
+    public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        return StringPool.SHARED.intern(StringDeserializer.instance.deserialize(parser, context));
+    }
+}
@@ -0,0 +1,109 @@
+package com.tickettracking;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records operation latencies into fixed logarithmic buckets so percentiles can be
+ * read at any time without keeping individual samples.
+ * Each power of two is split into 8 sub-buckets, giving roughly 12% resolution.
+ * Recording is lock-free and does not allocate.
+ */
+public class LatencyRecorder {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    public void record(long nanos) {
+        counts.incrementAndGet(bucketIndex(Math.max(0, nanos)));
+    }
+
+    /**
+     * Records the time elapsed since the given System.nanoTime() value.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    static long bucketMidpoint(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long mantissa = SUB_BUCKETS + (index % SUB_BUCKETS);
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lower = mantissa << shift;
+        return lower + ((1L << shift) >>> 1);
+    }
+
+    /**
+     * An immutable copy of the bucket counts, which can be merged with other
+     * snapshots and queried for percentiles.
+     */
+    public static class Snapshot {
+        private final long[] counts;
+        private final long total;
+
+        private Snapshot(long[] counts) {
+            this.counts = counts;
+            long sum = 0;
+            for (long count : counts) {
+                sum += count;
+            }
+            this.total = sum;
+        }
+
+        public long getCount() {
+            return total;
+        }
+
+        public Snapshot merge(Snapshot other) {
+            long[] merged = counts.clone();
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += other.counts[i];
+            }
+            return new Snapshot(merged);
+        }
+
+        /**
+         * Returns the approximate latency in nanoseconds below which the given
+         * percentage (0-100) of recorded samples fall, or 0 if nothing was recorded.
+         */
+        public long getPercentile(double percentile) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(total * Math.min(100.0, percentile) / 100.0));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return bucketMidpoint(i);
+                }
+            }
+            return bucketMidpoint(counts.length - 1);
+        }
+
+        public double getPercentileMillis(double percentile) {
+            return getPercentile(percentile) / 1_000_000.0;
+        }
+    }
+}
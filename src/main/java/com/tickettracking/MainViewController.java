@@ -1,5 +1,6 @@
 package com.tickettracking;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -12,7 +13,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.stage.Modality;
 import javafx.stage.Stage;
 
 import java.io.File;
@@ -21,11 +21,18 @@ import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import com.tickettracking.EditTicketDialogController;
 import javafx.animation.Timeline;
 import javafx.animation.KeyFrame;
 import javafx.util.Duration;
@@ -45,6 +52,8 @@ public class MainViewController {
     @FXML private TextField searchField;
     @FXML private ComboBox<Ticket.Status> statusFilter;
     @FXML private ComboBox<Ticket.Priority> priorityFilter;
+    @FXML private ComboBox<TicketDateRange> createdFilter;
+    @FXML private ComboBox<SavedView> viewFilter;
     @FXML public Label saveIndicatorLabel;
     @FXML private TableColumn<Ticket, String> idColumn;
     @FXML private TableColumn<Ticket, String> titleColumn;
@@ -57,6 +66,8 @@ public class MainViewController {
     private TicketService ticketService;
     private UserService userService;
     private final ObservableList<Ticket> tickets = FXCollections.observableArrayList();
+    private CompletableFuture<EditTicketDialog> editDialog; // Loaded in the background, reused for every edit
+    private boolean applyingView; // Set while choosing a saved view clears the other filters
 
     // no-args constructor
     public MainViewController() {
@@ -77,21 +88,55 @@ public class MainViewController {
 
     @FXML
     public void initialize() {
+        // Initialize table columns
+        setupTableColumns();
+
+        // Setup filters
+        setupFilters();
+
         if (ticketService == null) {
-            System.err.println("Warning: TicketService not initialized during initialization");
+            // Services are still starting up; TicketApplication calls onServicesReady() later
+            ticketTable.setPlaceholder(new Label("Loading tickets..."));
+            saveIndicatorLabel.setText("Loading...");
             return;
         }
-        
+        onServicesReady();
+    }
+
+    public void setEditDialog(CompletableFuture<EditTicketDialog> editDialog) {
+        this.editDialog = editDialog;
+    }
+
+    /**
+     * Loads the tickets and starts following changes once the services have been set.
+     * Called from initialize() when the services are injected up front, or by
+     * TicketApplication when they were created in parallel with the view.
+     */
+    public void onServicesReady() {
         // Initialize UserService if not set
         if (userService == null) {
             userService = new UserService();
         }
-        
-        // Initialize table columns
-        setupTableColumns();
 
-        // Setup filters
-        setupFilters();
+        // Parse the edit dialog off the FX thread so the first double-click opens it instantly
+        if (editDialog == null) {
+            editDialog = EditTicketDialog.preload(runnable -> {
+                Thread thread = new Thread(runnable, "dialog-preload");
+                thread.setDaemon(true);
+                thread.start();
+            });
+        }
+
+        ticketTable.setPlaceholder(new Label("No tickets"));
+        saveIndicatorLabel.setText("All Changes Saved");
+
+        User currentUser = userService.getCurrentUser();
+        viewFilter.getItems().addAll(SavedView.defaults(currentUser != null ? currentUser.getUsername() : null));
+
+        // Follow changes, including those merged from other instances. Events are queued
+        // without blocking the thread that made the change and applied once per pulse.
+        // Subscribing first means a change made during the load is applied again, not lost.
+        ticketService.addChangeListener(new TicketEventBatcher(Platform::runLater, this::applyEvents));
 
         // Load initial data
         loadTickets();
@@ -168,6 +213,7 @@ public class MainViewController {
 
         // Set the items to the TableView
         ticketTable.setItems(tickets);
+        ticketTable.setSortPolicy(this::sortTickets);
 
         // Add row double-click handler
         ticketTable.setRowFactory(tv -> {
@@ -188,39 +234,65 @@ public class MainViewController {
         
         priorityFilter.getItems().add(null); // "All" option
         priorityFilter.getItems().addAll(Ticket.Priority.values());
+
+        createdFilter.getItems().add(null); // "Any time" option
+        createdFilter.getItems().addAll(TicketDateRange.values());
+
+        viewFilter.getItems().add(null); // "All tickets" option; the views are added once the services are ready
         
         // Add listeners to search field and combo boxes
-        searchField.textProperty().addListener((observable, oldValue, newValue) -> filterTickets());
-        statusFilter.valueProperty().addListener((observable, oldValue, newValue) -> filterTickets());
-        priorityFilter.valueProperty().addListener((observable, oldValue, newValue) -> filterTickets());
+        searchField.textProperty().addListener((observable, oldValue, newValue) -> onFilterChanged());
+        statusFilter.valueProperty().addListener((observable, oldValue, newValue) -> onFilterChanged());
+        priorityFilter.valueProperty().addListener((observable, oldValue, newValue) -> onFilterChanged());
+        createdFilter.valueProperty().addListener((observable, oldValue, newValue) -> onFilterChanged());
+        viewFilter.valueProperty().addListener((observable, oldValue, newValue) -> {
+            if (newValue != null) {
+                // A saved view replaces the other filters rather than combining with them
+                applyingView = true;
+                searchField.clear();
+                statusFilter.setValue(null);
+                priorityFilter.setValue(null);
+                createdFilter.setValue(null);
+                applyingView = false;
+            }
+            filterTickets();
+        });
+    }
+
+    private void onFilterChanged() {
+        if (applyingView) {
+            return;
+        }
+        if (viewFilter.getValue() != null) {
+            viewFilter.setValue(null); // Its listener re-filters
+        } else {
+            filterTickets();
+        }
     }
 
 private void editTicket(Ticket ticket) {
+    if (ticketService.getTicket(ticket.getId()) == null) {
+        // Only live tickets can be edited; archived ones are shown by the Resolved/Closed filters
+        showAlert("Archived Ticket", "Ticket " + ticket.getId() + " is archived",
+                "Archived tickets are read-only.", Alert.AlertType.INFORMATION);
+        return;
+    }
     try {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/views/edit-ticket-dialog.fxml"));
-        Parent root = loader.load();
-
-        EditTicketDialogController controller = (EditTicketDialogController) loader.getController();
-        if (controller != null) {
-            controller.setTicket(ticket);
-            controller.setUserService(userService);
-
-            Stage stage = new Stage();
-            stage.setTitle("Edit Ticket");
-            stage.setScene(new Scene(root));
-            stage.initModality(Modality.APPLICATION_MODAL);
-
-            stage.showAndWait();
-
-            // Save the edited ticket if it has a title
-            if (ticket.getTitle() != null && !ticket.getTitle().isEmpty()) {
-                ticketService.updateTicket(ticket);
+        EditTicketDialog dialog = acquireEditDialog();
+
+        // Edit a private copy so the shared snapshot in the table never shows half-made changes
+        Ticket draft = ticket.copy();
+        boolean modified = dialog.showAndWait("Edit Ticket", draft, userService, ticketTable.getScene().getWindow());
+
+        // Save the edited ticket if anything was changed and it has a title
+        if (modified && draft.getTitle() != null && !draft.getTitle().isEmpty()) {
+            try {
+                ticketService.updateTicket(draft);
+            } catch (TicketConflictException e) {
+                showAlert("Edit Conflict", "Ticket was changed elsewhere",
+                        e.getMessage() + "\nThe latest version has been reloaded; please reapply your changes.",
+                        Alert.AlertType.WARNING);
             }
-            
-            // Refresh tickets after editing
-            loadTickets();
-        } else {
-            throw new RuntimeException("Controller not initialized");
         }
 
     } catch (IOException e) {
@@ -229,23 +301,49 @@ private void editTicket(Ticket ticket) {
     }
 }
 
+/**
+ * Returns the preloaded edit dialog, waiting for the background load if it has not
+ * finished yet. Falls back to loading a fresh dialog if preloading failed or the
+ * shared one is already showing.
+ */
+private EditTicketDialog acquireEditDialog() throws IOException {
+    if (editDialog != null) {
+        try {
+            EditTicketDialog dialog = editDialog.join();
+            if (!dialog.isShowing()) {
+                return dialog;
+            }
+        } catch (CompletionException | CancellationException e) {
+            Logger.getLogger(getClass().getName()).log(Level.WARNING, "Dialog preload failed", e);
+            editDialog = null;
+        }
+    }
+    EditTicketDialog dialog = EditTicketDialog.load();
+    if (editDialog == null) {
+        editDialog = CompletableFuture.completedFuture(dialog);
+    }
+    return dialog;
+}
+
 
 
 @FXML
 public void loadTickets() {
+    if (ticketService == null) {
+        return; // Still starting up
+    }
     try {
-        // Clear existing items
-        tickets.clear();  // using tickets instead of ticketList
-
-        // Get tickets from service
+        // Get the current snapshot from the service (shared, not copied)
         List<Ticket> loadedTickets = ticketService.getAllTickets();
 
-        // Add to observable list
-        tickets.addAll(loadedTickets);
+        // Replace the observable contents in one change notification
+        tickets.setAll(loadedTickets);
+
+        // Filter results are a copy, so re-apply any active filter to the new contents
+        filterTickets();
 
         // Debug print
         System.out.println("Loaded " + loadedTickets.size() + " tickets");
-        loadedTickets.forEach(ticket -> System.out.println("Ticket: " + ticket.getTitle()));
 
         // Refresh the table view
         ticketTable.refresh();
@@ -256,30 +354,100 @@ public void loadTickets() {
     }
 }
 
+/**
+ * Applies a batch of change events to the table in place instead of reloading every
+ * ticket, so the scroll position is kept. The last event for a ticket wins.
+ */
+private void applyEvents(List<TicketEvent> events) {
+    Map<String, Ticket> upserts = new LinkedHashMap<>();
+    Set<String> removed = new HashSet<>();
+    for (TicketEvent event : events) {
+        String id = event.getTicket().getId();
+        switch (event.getType()) {
+            case CREATED:
+            case UPDATED:
+                upserts.put(id, event.getTicket());
+                removed.remove(id);
+                break;
+            default:
+                upserts.remove(id);
+                removed.add(id);
+        }
+    }
+    if (!removed.isEmpty()) {
+        tickets.removeIf(ticket -> removed.contains(ticket.getId()));
+    }
+    for (int i = 0; i < tickets.size() && !upserts.isEmpty(); i++) {
+        Ticket replacement = upserts.remove(tickets.get(i).getId());
+        if (replacement != null) {
+            tickets.set(i, replacement);
+        }
+    }
+    tickets.addAll(upserts.values()); // Newly created
+
+    if (ticketTable.getItems() != tickets) {
+        filterTickets(); // Filter results are a copy
+    } else if (!ticketTable.getSortOrder().isEmpty()) {
+        ticketTable.sort();
+    }
+}
 
 private void filterTickets() {
-    String searchText = searchField.getText().toLowerCase().trim();
+    String searchText = searchField.getText();
     Ticket.Status selectedStatus = statusFilter.getValue();
     Ticket.Priority selectedPriority = priorityFilter.getValue();
-    
-    ObservableList<Ticket> filteredList = tickets.filtered(ticket -> {
-        // Text search filter
-        boolean matchesText = searchText.isEmpty() ||
-                (ticket.getTitle() != null && ticket.getTitle().toLowerCase().contains(searchText)) ||
-                (ticket.getId() != null && ticket.getId().toLowerCase().contains(searchText)) ||
-                (ticket.getStatus() != null && ticket.getStatus().toString().toLowerCase().contains(searchText)) ||
-                (ticket.getAssignedTo() != null && ticket.getAssignedTo().toLowerCase().contains(searchText));
-        
-        // Status filter
-        boolean matchesStatus = selectedStatus == null || ticket.getStatus() == selectedStatus;
-        
-        // Priority filter
-        boolean matchesPriority = selectedPriority == null || ticket.getPriority() == selectedPriority;
-        
-        return matchesText && matchesStatus && matchesPriority;
-    });
-    
-    ticketTable.setItems(filteredList);
+    TicketDateRange selectedRange = createdFilter.getValue();
+    SavedView selectedView = viewFilter.getValue();
+
+    if (selectedView != null && ticketService != null) {
+        // The service caches each view's results and keeps them current, so this runs no query
+        ticketTable.setItems(FXCollections.observableArrayList(ticketService.findTickets(selectedView)));
+        ticketTable.sort();
+        return;
+    }
+
+    if (searchText.isBlank() && selectedStatus == null && selectedPriority == null && selectedRange == null) {
+        ticketTable.setItems(tickets);
+        ticketTable.sort();
+        return;
+    }
+
+    // A date range is looked up in the service's time index, status and priority in
+    // its columnar index; search text goes through its trigram index, best match first
+    TicketQuery query = new TicketQuery();
+    if (selectedStatus != null) {
+        query.status(selectedStatus);
+    }
+    if (selectedPriority != null) {
+        query.priority(selectedPriority);
+    }
+    if (selectedRange != null) {
+        query.createdBetween(selectedRange.start(LocalDateTime.now()), null);
+    }
+    List<Ticket> filteredList;
+    if (ticketService == null) {
+        filteredList = new ArrayList<>();
+    } else if (searchText.isBlank()) {
+        filteredList = ticketService.findTickets(query);
+    } else {
+        filteredList = ticketService.searchTickets(searchText, query, Integer.MAX_VALUE);
+    }
+
+    ticketTable.setItems(FXCollections.observableArrayList(filteredList));
+    ticketTable.sort();
+}
+
+/**
+ * Sorts the table through the service, so large lists are sorted on several threads.
+ * Like the default policy, this reorders the table's items in place.
+ */
+private boolean sortTickets(TableView<Ticket> table) {
+    Comparator<Ticket> order = table.getComparator();
+    if (order == null || ticketService == null) {
+        return true;
+    }
+    table.getItems().setAll(ticketService.sortTickets(table.getItems(), order));
+    return true;
 }
     // Method that supports different alert types
     private void showAlert(String title, String header, String content, Alert.AlertType alertType) {
@@ -299,31 +467,23 @@ private void filterTickets() {
 
     @FXML
     public void createNewTicket(ActionEvent actionEvent) {
+        if (ticketService == null) {
+            return; // Still starting up
+        }
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/views/edit-ticket-dialog.fxml"));
-            Parent root = loader.load();
-
-            EditTicketDialogController controller = (EditTicketDialogController) loader.getController();
+            EditTicketDialog dialog = acquireEditDialog();
 
             // Create a new ticket with default values
             Ticket newTicket = new Ticket();
             newTicket.setStatus(Ticket.Status.OPEN);  // Set default status
             newTicket.setPriority(Ticket.Priority.MEDIUM);  // Set default priority
 
-            controller.setTicket(newTicket);
-            controller.setUserService(userService);
-
-            Stage stage = new Stage();
-            stage.setTitle("Create New Ticket");
-            stage.setScene(new Scene(root));
-            stage.initModality(Modality.APPLICATION_MODAL);
-
-            stage.showAndWait();
+            boolean saved = dialog.showAndWait("Create New Ticket", newTicket, userService,
+                    ticketTable.getScene().getWindow());
 
             // If the ticket was saved (has a title), add it to the service
-            if (newTicket.getTitle() != null && !newTicket.getTitle().isEmpty()) {
-                ticketService.saveTicket(newTicket);
-                loadTickets(); // Refresh the table
+            if (saved && newTicket.getTitle() != null && !newTicket.getTitle().isEmpty()) {
+                ticketService.saveTicket(newTicket); // The table follows through applyEvents
             }
 
         } catch (IOException e) {
@@ -332,6 +492,56 @@ private void filterTickets() {
         }
     }
 
+    /**
+     * Saves the current status, priority and date filters as a named view and selects it.
+     * A view with the name of an existing one replaces it.
+     */
+    @FXML
+    public void saveCurrentView(ActionEvent actionEvent) {
+        TicketQuery query = new TicketQuery();
+        if (statusFilter.getValue() != null) {
+            query.status(statusFilter.getValue());
+        }
+        if (priorityFilter.getValue() != null) {
+            query.priority(priorityFilter.getValue());
+        }
+        TicketDateRange createdRange = createdFilter.getValue();
+
+        TextInputDialog dialog = new TextInputDialog();
+        dialog.setTitle("Save View");
+        dialog.setHeaderText("Save the status, priority and date filters as a view");
+        dialog.setContentText("Name:");
+        dialog.showAndWait().map(String::trim).filter(name -> !name.isEmpty()).ifPresent(name -> {
+            SavedView view = new SavedView(name, query, createdRange);
+            viewFilter.getItems().removeIf(existing -> existing != null && existing.getName().equals(name));
+            viewFilter.getItems().add(view);
+            viewFilter.setValue(view);
+        });
+    }
+
+    @FXML
+    public void openDashboard(ActionEvent actionEvent) {
+        if (ticketService == null) {
+            return; // Still starting up
+        }
+        try {
+            FXMLLoader loader = new FXMLLoader(getClass().getResource("/views/dashboard-view.fxml"));
+            Parent root = loader.load();
+
+            DashboardController controller = loader.getController();
+            controller.setTicketService(ticketService);
+
+            Stage stage = new Stage();
+            stage.setTitle("Dashboard");
+            stage.setScene(new Scene(root));
+            stage.setOnHidden(event -> controller.stop());
+            stage.show();
+        } catch (IOException e) {
+            e.printStackTrace();
+            showAlert("Error", "Could not open dashboard", e.getMessage());
+        }
+    }
+
     @FXML
     public void save(ActionEvent actionEvent) {
         try {
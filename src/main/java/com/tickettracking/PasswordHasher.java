@@ -0,0 +1,112 @@
+package com.tickettracking;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Hashes and verifies passwords with salted PBKDF2-HMAC-SHA256.
+ * Hashes are stored as "pbkdf2-sha256$iterations$salt$hash" so the cost can be
+ * raised later without invalidating existing hashes; {@link #needsRehash(String)}
+ * tells callers when a stored hash was made with a different cost.
+ */
+public class PasswordHasher {
+    public static final int DEFAULT_ITERATIONS = 210_000;
+    public static final int MIN_ITERATIONS = 10_000;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    public PasswordHasher() {
+        this(Integer.getInteger("tickettracking.passwordIterations", DEFAULT_ITERATIONS));
+    }
+
+    public PasswordHasher(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be positive");
+        }
+        this.iterations = iterations;
+    }
+
+    /**
+     * Measures this machine and returns a hasher whose cost makes one verification
+     * take roughly the given budget, but never fewer than MIN_ITERATIONS.
+     */
+    public static PasswordHasher calibrate(Duration budget) {
+        int probeIterations = MIN_ITERATIONS;
+        PasswordHasher probe = new PasswordHasher(probeIterations);
+        char[] password = "calibration".toCharArray();
+        byte[] salt = new byte[SALT_BYTES];
+        probe.derive(password, salt, probeIterations); // warm up
+        long start = System.nanoTime();
+        probe.derive(password, salt, probeIterations);
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        long scaled = probeIterations * budget.toNanos() / elapsed;
+        return new PasswordHasher((int) Math.max(MIN_ITERATIONS, Math.min(Integer.MAX_VALUE, scaled)));
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public String hash(char[] password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = derive(password, salt, iterations);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    /**
+     * Checks a password against a stored hash in constant time.
+     * Returns false for a missing or malformed hash.
+     */
+    public boolean verify(char[] password, String storedHash) {
+        String[] parts = storedHash != null ? storedHash.split("\\$") : new String[0];
+        if (parts.length != 4 || !PREFIX.equals(parts[0])) {
+            return false;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            Base64.Decoder decoder = Base64.getDecoder();
+            byte[] salt = decoder.decode(parts[2]);
+            byte[] expected = decoder.decode(parts[3]);
+            byte[] actual = derive(password, salt, storedIterations);
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns true if the stored hash was made with a different cost than this hasher uses.
+     */
+    public boolean needsRehash(String storedHash) {
+        return storedHash == null || !storedHash.startsWith(PREFIX + "$" + iterations + "$");
+    }
+
+    private byte[] derive(char[] password, byte[] salt, int iterationCount) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterationCount, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return PREFIX + " (" + iterations + " iterations)";
+    }
+}
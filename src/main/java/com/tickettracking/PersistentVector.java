@@ -0,0 +1,178 @@
+package com.tickettracking;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list with structural sharing, used by TicketService to publish the
+ * ticket store as a snapshot that any number of readers can hold without copying.
+ *
+ * Elements are stored in a 32-way trie plus a tail array. Replacing or appending an
+ * element copies only the path from the root to the affected leaf (at most a few
+ * arrays of 32 references), and the new vector shares everything else with the old one.
+ * Removing an element other than the last rebuilds the vector, which is O(n).
+ *
+ * All java.util.List mutators throw UnsupportedOperationException; use
+ * {@link #with(int, Object)}, {@link #plus(Object)} and {@link #without(int)} instead.
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Node EMPTY_NODE = new Node(new Object[WIDTH]);
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Node root;
+    private final Object[] tail;
+
+    private static final class Node {
+        private final Object[] array;
+
+        private Node(Object[] array) {
+            this.array = array;
+        }
+    }
+
+    private PersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    public static <E> PersistentVector<E> copyOf(Collection<? extends E> elements) {
+        PersistentVector<E> vector = empty();
+        for (E element : elements) {
+            vector = vector.plus(element);
+        }
+        return vector;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) arrayFor(index)[index & MASK];
+    }
+
+    /**
+     * Returns a vector with the element at the given index replaced.
+     */
+    public PersistentVector<E> with(int index, E element) {
+        Objects.checkIndex(index, size);
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, replace(shift, root, index, element), tail);
+    }
+
+    /**
+     * Returns a vector with the element appended.
+     */
+    public PersistentVector<E> plus(E element) {
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        // The tail is full: push it into the trie and start a new one
+        Node tailNode = new Node(tail);
+        int newShift = shift;
+        Node newRoot;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Node(new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tailNode);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] {element});
+    }
+
+    /**
+     * Returns a vector without the element at the given index.
+     * Removing the last element is cheap; any other index rebuilds the vector.
+     */
+    public PersistentVector<E> without(int index) {
+        Objects.checkIndex(index, size);
+        if (index == size - 1 && size - tailOffset() > 1) {
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+        PersistentVector<E> result = empty();
+        for (int i = 0; i < size; i++) {
+            if (i != index) {
+                result = result.plus(get(i));
+            }
+        }
+        return result;
+    }
+
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] arrayFor(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    private static Node replace(int level, Node node, int index, Object element) {
+        Node copy = new Node(node.array.clone());
+        if (level == 0) {
+            copy.array[index & MASK] = element;
+        } else {
+            int child = (index >>> level) & MASK;
+            copy.array[child] = replace(level - BITS, (Node) node.array[child], index, element);
+        }
+        return copy;
+    }
+
+    private Node pushTail(int level, Node parent, Node tailNode) {
+        int child = ((size - 1) >>> level) & MASK;
+        Node copy = new Node(parent.array.clone());
+        Node inserted;
+        if (level == BITS) {
+            inserted = tailNode;
+        } else {
+            Node existing = (Node) parent.array[child];
+            inserted = existing != null
+                    ? pushTail(level - BITS, existing, tailNode)
+                    : newPath(level - BITS, tailNode);
+        }
+        copy.array[child] = inserted;
+        return copy;
+    }
+
+    private static Node newPath(int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+        Node path = new Node(new Object[WIDTH]);
+        path.array[0] = newPath(level - BITS, node);
+        return path;
+    }
+}
@@ -0,0 +1,83 @@
+package com.tickettracking;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A named filter that can be switched to in one step, such as "My critical open".
+ * TicketService compiles each view once into a cached plan and keeps its results up
+ * to date as tickets change, so switching to a view runs no query.
+ *
+ * A view's date range is relative ("Today", "Last 7 days"); its start is worked out
+ * again each time the view is read.
+ */
+public class SavedView {
+    private final String name;
+    private final TicketQuery query;
+    private final TicketDateRange createdRange;
+
+    public SavedView(String name, TicketQuery query) {
+        this(name, query, null);
+    }
+
+    /**
+     * Creates a view of the tickets matching the query and, if createdRange is not null,
+     * created within it. The query is copied, so later changes to it do not affect the
+     * view. It cannot restrict times itself, since fixed times would not stay current.
+     */
+    public SavedView(String name, TicketQuery query, TicketDateRange createdRange) {
+        if (query.hasTimeRange()) {
+            throw new IllegalArgumentException("Saved view '" + name + "' must use a relative date range");
+        }
+        this.name = Objects.requireNonNull(name, "name");
+        this.query = query.copy();
+        this.createdRange = createdRange;
+    }
+
+    /**
+     * Returns the built-in views, including views of the given user's tickets when a
+     * username is given.
+     */
+    public static List<SavedView> defaults(String username) {
+        List<SavedView> views = new ArrayList<>();
+        if (username != null) {
+            views.add(new SavedView("My open", new TicketQuery().open().assignedTo(username)));
+            views.add(new SavedView("My critical open",
+                    new TicketQuery().open().priority(Ticket.Priority.CRITICAL).assignedTo(username)));
+        }
+        views.add(new SavedView("Critical open", new TicketQuery().open().priority(Ticket.Priority.CRITICAL)));
+        views.add(new SavedView("Unassigned open", new TicketQuery().open().assignedTo(null)));
+        views.add(new SavedView("Created today", new TicketQuery(), TicketDateRange.TODAY));
+        return views;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TicketQuery getQuery() {
+        return query.copy();
+    }
+
+    public TicketDateRange getCreatedRange() {
+        return createdRange;
+    }
+
+    /**
+     * Returns the query for this view as of the given time.
+     */
+    TicketQuery toQuery(LocalDateTime now) {
+        TicketQuery current = query.copy();
+        if (createdRange != null) {
+            current.createdBetween(createdRange.start(now), null);
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
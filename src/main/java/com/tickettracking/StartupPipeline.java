@@ -0,0 +1,129 @@
+package com.tickettracking;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the independent phases of application startup in parallel and records how
+ * long each one took.
+ *
+ * Phases are forked onto daemon threads owned by the pipeline. As with a structured
+ * task scope, the phases share one lifetime: if any phase fails, the remaining ones
+ * are interrupted, and {@link #close()} stops the threads once startup is over.
+ */
+public class StartupPipeline implements AutoCloseable {
+    private final long startNanos = System.nanoTime();
+    private final ExecutorService executor;
+    private final Map<String, Duration> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final List<CompletableFuture<?>> phases = Collections.synchronizedList(new ArrayList<>());
+
+    public StartupPipeline() {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "startup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a phase on its own thread and returns its result as a future.
+     * A failure is reported through the future and cancels all other phases.
+     */
+    public <T> CompletableFuture<T> fork(String phase, Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        phases.add(future);
+        try {
+            executor.execute(() -> run(phase, task, future));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new CompletionException("Startup already finished or failed", e));
+        }
+        return future;
+    }
+
+    private <T> void run(String phase, Callable<T> task, CompletableFuture<T> future) {
+        long start = System.nanoTime();
+        try {
+            T result = task.call();
+            timings.put(phase, Duration.ofNanos(System.nanoTime() - start));
+            future.complete(result);
+        } catch (Throwable t) {
+            timings.put(phase + " (failed)", Duration.ofNanos(System.nanoTime() - start));
+            future.completeExceptionally(t);
+            shutdownOnFailure(phase, t);
+        }
+    }
+
+    /**
+     * Returns a future that completes once every phase forked so far has completed,
+     * or completes exceptionally with the first failure.
+     */
+    public CompletableFuture<Void> join() {
+        CompletableFuture<?>[] snapshot;
+        synchronized (phases) {
+            snapshot = phases.toArray(new CompletableFuture<?>[0]);
+        }
+        return CompletableFuture.allOf(snapshot);
+    }
+
+    /**
+     * Records a milestone reached outside the pipeline, e.g. on the FX application thread,
+     * as the time elapsed since the pipeline was created.
+     */
+    public void mark(String milestone) {
+        timings.put(milestone, elapsed());
+    }
+
+    public Duration elapsed() {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    public Map<String, Duration> getTimings() {
+        synchronized (timings) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(timings));
+        }
+    }
+
+    /**
+     * Formats the phase timings as a single line, e.g. "ticket store 120 ms, main view 80 ms; total 130 ms".
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        getTimings().forEach((phase, duration) -> {
+            if (report.length() > 0) {
+                report.append(", ");
+            }
+            report.append(phase).append(' ').append(duration.toMillis()).append(" ms");
+        });
+        return report.append("; total ").append(elapsed().toMillis()).append(" ms").toString();
+    }
+
+    private void shutdownOnFailure(String phase, Throwable cause) {
+        Logger.getLogger(getClass().getName()).log(Level.SEVERE, "Startup phase failed: " + phase, cause);
+        executor.shutdownNow();
+        CompletionException cancelled = new CompletionException("Startup cancelled after " + phase + " failed", cause);
+        synchronized (phases) {
+            for (CompletableFuture<?> other : phases) {
+                other.completeExceptionally(cancelled);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
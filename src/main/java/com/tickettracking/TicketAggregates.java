@@ -0,0 +1,196 @@
+package com.tickettracking;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Running summaries of the ticket store, maintained by TicketService on every mutation.
+ * Counts per status, priority and assignee are adjusted in constant time, and open
+ * tickets are kept in a min-heap ordered by creation time so the oldest unresolved
+ * ticket (and therefore SLA breaches) can be read without iterating all tickets.
+ *
+ * The last known state of each ticket is remembered so that an update can be applied
+ * as "remove old state, add new state".
+ */
+public class TicketAggregates {
+    private static final Comparator<Entry> BY_CREATED_AT = Comparator.comparing(
+            (Entry entry) -> entry.createdAt, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final int[] statusCounts = new int[Ticket.Status.values().length];
+    private final int[] priorityCounts = new int[Ticket.Priority.values().length];
+    private final int[] openPriorityCounts = new int[Ticket.Priority.values().length];
+    private final Map<String, Integer> openByAssignee = new HashMap<>();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final PriorityQueue<Entry> openByAge = new PriorityQueue<>(BY_CREATED_AT);
+    private int openCount;
+    private int staleHeapEntries;
+    private long createdTotal;
+
+    /**
+     * Records a ticket that was just created (or loaded) in the store.
+     */
+    synchronized void added(Ticket ticket) {
+        add(ticket);
+        createdTotal++;
+    }
+
+    /**
+     * Replaces the remembered state of a ticket with its current field values.
+     */
+    synchronized void updated(Ticket ticket) {
+        remove(ticket.getId());
+        add(ticket);
+    }
+
+    synchronized void removed(String id) {
+        remove(id);
+    }
+
+    private void add(Ticket ticket) {
+        Entry entry = new Entry(ticket);
+        Entry previous = entries.put(entry.id, entry);
+        if (previous != null) {
+            adjust(previous, -1);
+        }
+        adjust(entry, 1);
+    }
+
+    private void remove(String id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            adjust(previous, -1);
+        }
+    }
+
+    private void adjust(Entry entry, int delta) {
+        if (entry.status != null) {
+            statusCounts[entry.status.ordinal()] += delta;
+        }
+        if (entry.priority != null) {
+            priorityCounts[entry.priority.ordinal()] += delta;
+        }
+        if (!entry.isOpen()) {
+            return;
+        }
+        openCount += delta;
+        if (entry.priority != null) {
+            openPriorityCounts[entry.priority.ordinal()] += delta;
+        }
+        openByAssignee.merge(entry.assignee, delta, (a, b) -> a + b == 0 ? null : a + b);
+        if (delta > 0) {
+            openByAge.add(entry);
+        } else {
+            // Removed lazily from the heap; compact once stale entries dominate
+            entry.removed = true;
+            staleHeapEntries++;
+            if (staleHeapEntries > 64 && staleHeapEntries > openByAge.size() / 2) {
+                openByAge.removeIf(e -> e.removed);
+                staleHeapEntries = 0;
+            }
+        }
+    }
+
+    public synchronized int getStatusCount(Ticket.Status status) {
+        return statusCounts[status.ordinal()];
+    }
+
+    public synchronized int getPriorityCount(Ticket.Priority priority) {
+        return priorityCounts[priority.ordinal()];
+    }
+
+    public synchronized int getTotalCount() {
+        return entries.size();
+    }
+
+    public synchronized int getOpenCount() {
+        return openCount;
+    }
+
+    public synchronized int getOpenCount(Ticket.Priority priority) {
+        return openPriorityCounts[priority.ordinal()];
+    }
+
+    /**
+     * Returns the number of open tickets assigned to the given user,
+     * or unassigned open tickets when assignee is null.
+     */
+    public synchronized int getOpenCountForAssignee(String assignee) {
+        return openByAssignee.getOrDefault(assignee, 0);
+    }
+
+    public synchronized Map<String, Integer> getOpenCountsByAssignee() {
+        return Collections.unmodifiableMap(new HashMap<>(openByAssignee));
+    }
+
+    /**
+     * Returns the total number of tickets created since the store was loaded,
+     * including the ones loaded from file.
+     */
+    public synchronized long getCreatedTotal() {
+        return createdTotal;
+    }
+
+    /**
+     * Returns the open ticket with the earliest creation time, or null if none are open.
+     */
+    public synchronized Ticket getOldestOpenTicket() {
+        Entry oldest = peekOldest();
+        return oldest != null ? oldest.ticket : null;
+    }
+
+    /**
+     * Returns how long the oldest open ticket has been open, or Duration.ZERO if none are.
+     */
+    public synchronized Duration getOldestOpenAge(LocalDateTime now) {
+        Entry oldest = peekOldest();
+        if (oldest == null || oldest.createdAt == null) {
+            return Duration.ZERO;
+        }
+        return Duration.between(oldest.createdAt, now);
+    }
+
+    /**
+     * Returns true if any open ticket has been open longer than the given SLA.
+     */
+    public synchronized boolean isSlaBreached(Duration sla, LocalDateTime now) {
+        return getOldestOpenAge(now).compareTo(sla) > 0;
+    }
+
+    private Entry peekOldest() {
+        Entry head = openByAge.peek();
+        while (head != null && head.removed) {
+            openByAge.poll();
+            staleHeapEntries--;
+            head = openByAge.peek();
+        }
+        return head;
+    }
+
+    private static final class Entry {
+        private final Ticket ticket;
+        private final String id;
+        private final Ticket.Status status;
+        private final Ticket.Priority priority;
+        private final String assignee;
+        private final LocalDateTime createdAt;
+        private boolean removed;
+
+        private Entry(Ticket ticket) {
+            this.ticket = ticket;
+            this.id = ticket.getId();
+            this.status = ticket.getStatus();
+            this.priority = ticket.getPriority();
+            this.assignee = ticket.getAssignedTo();
+            this.createdAt = ticket.getCreatedAt();
+        }
+
+        private boolean isOpen() {
+            return status != null && status.isOpen();
+        }
+    }
+}
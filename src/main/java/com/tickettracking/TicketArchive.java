@@ -0,0 +1,144 @@
+package com.tickettracking;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold storage for tickets moved out of the live store: a directory of read-only,
+ * GZIP-compressed JSON segment files next to the store file.
+ *
+ * Segments are never read at startup. Searches read them through a cache bounded by
+ * the total number of archived tickets held in memory (tickettracking.archiveCacheTickets),
+ * evicting the least recently used segments, so an archive larger than the heap can
+ * still be searched while recently used segments stay in memory. The directory is
+ * listed on every search, which also picks up segments written by other instances.
+ */
+final class TicketArchive {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".json.gz";
+    private static final long CACHE_TICKETS = Long.getLong("tickettracking.archiveCacheTickets", 50_000);
+
+    private final Path directory;
+    private final BoundedCache<String, List<Ticket>> segments; // Segment file name -> frozen tickets
+    private volatile boolean hasSegments;
+
+    TicketArchive(Path directory) {
+        this(directory, CACHE_TICKETS);
+    }
+
+    TicketArchive(Path directory, long cacheTickets) {
+        this.directory = directory;
+        this.segments = new BoundedCache<>(cacheTickets, List::size);
+    }
+
+    /**
+     * Writes the tickets to a new segment. The segment appears atomically, so readers
+     * never see a partial file.
+     */
+    synchronized void write(List<Ticket> tickets) throws IOException {
+        Files.createDirectories(directory);
+        // The temporary file's random part keeps segments written in the same millisecond apart,
+        // since an atomic move silently replaces an existing file
+        Path tempFile = Files.createTempFile(directory,
+                SEGMENT_PREFIX + System.currentTimeMillis() + "-" + tickets.size() + "-", ".tmp");
+        String tempName = tempFile.getFileName().toString();
+        String name = tempName.substring(0, tempName.length() - ".tmp".length()) + SEGMENT_SUFFIX;
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempFile))) {
+                StoreJson.compactTicketListWriter().writeValue(out, tickets);
+            }
+            try {
+                Files.move(tempFile, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, directory.resolve(name));
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        hasSegments = true;
+        List<Ticket> snapshots = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            snapshots.add(ticket.snapshot());
+        }
+        segments.put(name, Collections.unmodifiableList(snapshots));
+    }
+
+    /**
+     * Returns true if there may be archived tickets, without loading any of them.
+     */
+    boolean isEmpty() {
+        if (!hasSegments) {
+            hasSegments = !segmentNames().isEmpty();
+        }
+        return !hasSegments;
+    }
+
+    /**
+     * Returns the archived tickets that match the predicate as frozen snapshots,
+     * oldest segment first, reading segments that are not cached from disk.
+     */
+    List<Ticket> find(Predicate<? super Ticket> predicate) throws IOException {
+        List<Ticket> matches = new ArrayList<>();
+        for (String name : segmentNames()) {
+            for (Ticket ticket : segments.get(name, this::readSegment)) {
+                if (predicate.test(ticket)) {
+                    matches.add(ticket);
+                }
+            }
+            hasSegments = true;
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the highest numeric ticket ID in the archive, or 0 if there is none.
+     * Reads every segment.
+     */
+    int maxId() throws IOException {
+        int max = 0;
+        for (String name : segmentNames()) {
+            for (Ticket ticket : segments.get(name, this::readSegment)) {
+                max = Math.max(max, TicketColumns.parseId(ticket.getId()));
+            }
+        }
+        return max;
+    }
+
+    BoundedCache.Stats cacheStats() {
+        return segments.stats();
+    }
+
+    private List<Ticket> readSegment(String name) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(directory.resolve(name)))) {
+            List<Ticket> tickets = StoreJson.ticketListReader().readValue(in);
+            tickets.replaceAll(Ticket::snapshot);
+            return Collections.unmodifiableList(tickets);
+        }
+    }
+
+    private List<String> segmentNames() {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,616 @@
+package com.tickettracking;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An append-only history of field-level ticket changes, kept next to the ticket store
+ * as a compact binary segment file.
+ *
+ * Each record holds one ticket's change: the fields that differ from the previous
+ * version, a full checkpoint of the ticket, or its removal by a delete or a move to
+ * the archive. A ticket's first record written by
+ * this process, and every CHECKPOINT_INTERVAL-th record after it, is a checkpoint, so
+ * {@link #ticketAt(String, LocalDateTime)} replays at most that many records from disk.
+ *
+ * Records are encoded and appended on a single background thread, so a mutation only
+ * pays for handing over the previous and new snapshots. Reads first wait for pending
+ * records. Each record is written with a single append, so several instances sharing
+ * a store can share its log; readers index the file incrementally from where they
+ * last stopped, which also picks up records written by other instances.
+ *
+ * History starts when logging starts: tickets loaded from an existing store have no
+ * records until they are next changed.
+ */
+public class TicketAuditLog implements AutoCloseable {
+    private static final int CHECKPOINT_INTERVAL = 16;
+    private static final byte CHECKPOINT = 1;
+    private static final byte CHANGE = 2;
+    private static final byte DELETE = 3;
+    private static final byte ARCHIVE = 4; // Moved to the archive: gone from the store, like a delete
+
+    /**
+     * The ticket fields whose changes are recorded. A COMMENT change is a comment added.
+     */
+    public enum Field {
+        TITLE, DESCRIPTION, STATUS, PRIORITY, ASSIGNED_TO, COMMENT
+    }
+
+    /**
+     * One entry in a ticket's history.
+     */
+    public static final class Change {
+        public enum Type {
+            CREATED, UPDATED, DELETED, ARCHIVED
+        }
+
+        private final Type type;
+        private final LocalDateTime time;
+        private final long version;
+        private final Map<Field, String> newValues;
+
+        private Change(Type type, LocalDateTime time, long version, Map<Field, String> newValues) {
+            this.type = type;
+            this.time = time;
+            this.version = version;
+            this.newValues = Collections.unmodifiableMap(newValues);
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public LocalDateTime getTime() {
+            return time;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Returns the fields this change set, with their new values. Statuses and
+         * priorities are given by name, and an added comment as "author: text".
+         */
+        public Map<Field, String> getNewValues() {
+            return newValues;
+        }
+    }
+
+    private final Path logPath;
+    private final ExecutorService writer;
+    private final Map<String, Integer> recordsSinceCheckpoint = new HashMap<>(); // Writer thread only
+    private final Map<String, Trail> trails = new HashMap<>(); // Guarded by this
+    private long indexedLength; // Guarded by this
+
+    public TicketAuditLog(Path logPath) {
+        this.logPath = logPath;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ticket-audit");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Records a ticket that was just created.
+     */
+    void created(Ticket ticket) {
+        append(() -> checkpoint(ticket, timeOf(ticket)));
+    }
+
+    /**
+     * Records the change from previous to current, both frozen snapshots.
+     */
+    void updated(Ticket previous, Ticket current) {
+        append(() -> change(previous, current));
+    }
+
+    void deleted(Ticket ticket, LocalDateTime time) {
+        removed(DELETE, ticket, time);
+    }
+
+    /**
+     * Records a ticket that was moved out of the store into the archive.
+     */
+    void archived(Ticket ticket, LocalDateTime time) {
+        removed(ARCHIVE, ticket, time);
+    }
+
+    private void removed(byte kind, Ticket ticket, LocalDateTime time) {
+        append(() -> {
+            recordsSinceCheckpoint.remove(ticket.getId());
+            return record(kind, time, ticket.getId(), ticket.getVersion(), out -> { });
+        });
+    }
+
+    private void append(IoSupplier<byte[]> encoder) {
+        try {
+            writer.execute(() -> {
+                try (FileChannel channel = FileChannel.open(logPath,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(encoder.get());
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                } catch (IOException e) {
+                    Logger.getLogger(getClass().getName()).log(Level.WARNING,
+                            "Could not append to audit log " + logPath, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            Logger.getLogger(getClass().getName()).log(Level.WARNING,
+                    "Audit log is closed; change not recorded", e);
+        }
+    }
+
+    /**
+     * Waits until every change recorded so far has been written.
+     */
+    public void flush() {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RejectedExecutionException e) {
+            // Closed; everything accepted before closing has already been written
+        }
+    }
+
+    /**
+     * Returns every recorded change to the ticket, oldest first.
+     */
+    public synchronized List<Change> history(String id) {
+        flush();
+        refreshIndex();
+        Trail trail = trails.get(id);
+        List<Change> changes = new ArrayList<>();
+        if (trail == null) {
+            return changes;
+        }
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            Ticket state = null;
+            for (int i = 0; i < trail.size; i++) {
+                Ticket next = apply(state, readRecord(channel, trail.offsets[i]));
+                if (next == null) {
+                    Change.Type type = trail.kinds[i] == ARCHIVE ? Change.Type.ARCHIVED : Change.Type.DELETED;
+                    changes.add(new Change(type, CompactTime.decode(trail.times[i]),
+                            state != null ? state.getVersion() : 0, new EnumMap<>(Field.class)));
+                } else {
+                    changes.add(new Change(state == null ? Change.Type.CREATED : Change.Type.UPDATED,
+                            CompactTime.decode(trail.times[i]), next.getVersion(), diff(state, next)));
+                }
+                state = next;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read audit log " + logPath, e);
+        }
+        return changes;
+    }
+
+    /**
+     * Reconstructs the ticket as it was at the given time, or returns null if it did
+     * not exist then (or had not been recorded yet). The result is a frozen snapshot.
+     */
+    public synchronized Ticket ticketAt(String id, LocalDateTime time) {
+        flush();
+        refreshIndex();
+        Trail trail = trails.get(id);
+        if (trail == null) {
+            return null;
+        }
+        int last = trail.lastAtOrBefore(CompactTime.encode(time));
+        if (last < 0 || isRemoval(trail.kinds[last])) {
+            return null;
+        }
+        int first = last;
+        while (trail.kinds[first] != CHECKPOINT) {
+            first--;
+        }
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            Ticket state = null;
+            for (int i = first; i <= last; i++) {
+                state = apply(state, readRecord(channel, trail.offsets[i]));
+            }
+            return state != null ? state.snapshot() : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read audit log " + logPath, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Encoding, on the writer thread
+
+    private byte[] change(Ticket previous, Ticket current) throws IOException {
+        int count = recordsSinceCheckpoint.getOrDefault(current.getId(), CHECKPOINT_INTERVAL);
+        List<Comment> before = previous.getComments();
+        List<Comment> after = current.getComments();
+        if (count >= CHECKPOINT_INTERVAL || !commentsAppended(before, after)) {
+            return checkpoint(current, timeOf(current));
+        }
+        recordsSinceCheckpoint.put(current.getId(), count + 1);
+        return record(CHANGE, timeOf(current), current.getId(), current.getVersion(), out -> {
+            writeFieldIfChanged(out, Field.TITLE, previous.getTitle(), current.getTitle());
+            writeFieldIfChanged(out, Field.DESCRIPTION, previous.getDescription(), current.getDescription());
+            writeFieldIfChanged(out, Field.STATUS, name(previous.getStatus()), name(current.getStatus()));
+            writeFieldIfChanged(out, Field.PRIORITY, name(previous.getPriority()), name(current.getPriority()));
+            writeFieldIfChanged(out, Field.ASSIGNED_TO, previous.getAssignedTo(), current.getAssignedTo());
+            for (Comment comment : after.subList(before.size(), after.size())) {
+                out.writeByte(Field.COMMENT.ordinal());
+                writeComment(out, comment);
+            }
+        });
+    }
+
+    /**
+     * Returns true if after is before with zero or more comments added at the end.
+     * Anything else, such as an edited comment, is recorded as a checkpoint.
+     */
+    private static boolean commentsAppended(List<Comment> before, List<Comment> after) {
+        if (after.size() < before.size()) {
+            return false;
+        }
+        for (int i = 0; i < before.size(); i++) {
+            if (!Objects.equals(before.get(i).getId(), after.get(i).getId())
+                    || !Objects.equals(before.get(i).getContent(), after.get(i).getContent())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] checkpoint(Ticket ticket, LocalDateTime time) throws IOException {
+        recordsSinceCheckpoint.put(ticket.getId(), 0);
+        return record(CHECKPOINT, time, ticket.getId(), ticket.getVersion(), out -> {
+            writeString(out, ticket.getTitle());
+            writeString(out, ticket.getDescription());
+            writeString(out, name(ticket.getStatus()));
+            writeString(out, name(ticket.getPriority()));
+            writeString(out, ticket.getAssignedTo());
+            out.writeLong(ticket.packedCreatedAt());
+            writeVarLong(out, ticket.getComments().size());
+            for (Comment comment : ticket.getComments()) {
+                writeComment(out, comment);
+            }
+        });
+    }
+
+    /**
+     * Frames a record as: length, kind, time, ticket ID, version, payload.
+     */
+    private static byte[] record(byte kind, LocalDateTime time, String id, long version, IoConsumer<DataOutputStream> payload)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0); // Length, filled in below
+        out.writeByte(kind);
+        out.writeLong(CompactTime.encode(time));
+        writeString(out, id);
+        writeVarLong(out, version);
+        payload.accept(out);
+        out.flush();
+        byte[] record = bytes.toByteArray();
+        ByteBuffer.wrap(record).putInt(0, record.length - Integer.BYTES);
+        return record;
+    }
+
+    private static void writeFieldIfChanged(DataOutputStream out, Field field, String before, String after)
+            throws IOException {
+        if (!Objects.equals(before, after)) {
+            out.writeByte(field.ordinal());
+            writeString(out, after);
+        }
+    }
+
+    private static void writeComment(DataOutputStream out, Comment comment) throws IOException {
+        writeString(out, comment.getId());
+        writeString(out, comment.getCreatedBy());
+        writeString(out, comment.getContent());
+        out.writeLong(CompactTime.encode(comment.getCreatedAt()));
+    }
+
+    /**
+     * Writes a string as a varint of its UTF-8 length plus one (zero for null) and its bytes.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, utf8.length + 1L);
+        out.write(utf8);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    // Decoding, on reader threads
+
+    /**
+     * Indexes the records appended since the last call. A record still being written
+     * (or cut short by a crash) ends the scan and is picked up by a later call.
+     */
+    private void refreshIndex() {
+        if (!Files.exists(logPath)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            long end = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + 1 + Long.BYTES);
+            while (indexedLength + header.capacity() <= end) {
+                header.clear();
+                readFully(channel, header, indexedLength);
+                int length = header.getInt(0);
+                long next = indexedLength + Integer.BYTES + length;
+                if (length <= 0 || next > end) {
+                    break;
+                }
+                DataInputStream in = readRecord(channel, indexedLength);
+                byte kind = in.readByte();
+                long time = in.readLong();
+                String id = readString(in);
+                long version = readVarLong(in);
+                trails.computeIfAbsent(id, key -> new Trail()).add(kind, time, version, indexedLength);
+                indexedLength = next;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not index audit log " + logPath, e);
+        }
+    }
+
+    private static DataInputStream readRecord(FileChannel channel, long offset) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        readFully(channel, length, offset);
+        ByteBuffer record = ByteBuffer.allocate(length.getInt(0));
+        readFully(channel, record, offset + Integer.BYTES);
+        return new DataInputStream(new ByteArrayInputStream(record.array()));
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of audit log");
+            }
+        }
+    }
+
+    /**
+     * Applies one record to the given state and returns the new state, or null for a deletion.
+     */
+    private static Ticket apply(Ticket state, DataInputStream in) throws IOException {
+        byte kind = in.readByte();
+        LocalDateTime time = CompactTime.decode(in.readLong());
+        String id = readString(in);
+        long version = readVarLong(in);
+        if (isRemoval(kind)) {
+            return null;
+        }
+        Ticket ticket;
+        if (kind == CHECKPOINT) {
+            ticket = new Ticket();
+            ticket.setId(id);
+            ticket.setTitle(readString(in));
+            ticket.setDescription(readString(in));
+            ticket.setStatus(parse(Ticket.Status.class, readString(in)));
+            ticket.setPriority(parse(Ticket.Priority.class, readString(in)));
+            ticket.setAssignedTo(readString(in));
+            ticket.setCreatedAt(CompactTime.decode(in.readLong()));
+            for (long i = readVarLong(in); i > 0; i--) {
+                ticket.addComment(readComment(in));
+            }
+        } else {
+            if (state == null) {
+                throw new IOException("Audit log change for ticket " + id + " has no checkpoint");
+            }
+            ticket = state.copy();
+            int code;
+            while ((code = in.read()) >= 0) {
+                switch (Field.values()[code]) {
+                    case TITLE:
+                        ticket.setTitle(readString(in));
+                        break;
+                    case DESCRIPTION:
+                        ticket.setDescription(readString(in));
+                        break;
+                    case STATUS:
+                        ticket.setStatus(parse(Ticket.Status.class, readString(in)));
+                        break;
+                    case PRIORITY:
+                        ticket.setPriority(parse(Ticket.Priority.class, readString(in)));
+                        break;
+                    case ASSIGNED_TO:
+                        ticket.setAssignedTo(readString(in));
+                        break;
+                    default:
+                        ticket.addComment(readComment(in));
+                }
+            }
+        }
+        ticket.setUpdatedAt(time);
+        ticket.setVersion(version);
+        return ticket;
+    }
+
+    private static Comment readComment(DataInputStream in) throws IOException {
+        Comment comment = new Comment();
+        comment.setId(readString(in));
+        comment.setCreatedBy(readString(in));
+        comment.setContent(readString(in));
+        comment.setCreatedAt(CompactTime.decode(in.readLong()));
+        return comment;
+    }
+
+    private static boolean isRemoval(byte kind) {
+        return kind == DELETE || kind == ARCHIVE;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        long length = readVarLong(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[(int) (length - 1)];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private static Map<Field, String> diff(Ticket before, Ticket after) {
+        Map<Field, String> changed = new EnumMap<>(Field.class);
+        putIfChanged(changed, Field.TITLE, before != null ? before.getTitle() : null, after.getTitle());
+        putIfChanged(changed, Field.DESCRIPTION, before != null ? before.getDescription() : null, after.getDescription());
+        putIfChanged(changed, Field.STATUS, before != null ? name(before.getStatus()) : null, name(after.getStatus()));
+        putIfChanged(changed, Field.PRIORITY, before != null ? name(before.getPriority()) : null, name(after.getPriority()));
+        putIfChanged(changed, Field.ASSIGNED_TO, before != null ? before.getAssignedTo() : null, after.getAssignedTo());
+        int known = before != null ? before.getComments().size() : 0;
+        List<Comment> comments = after.getComments();
+        if (comments.size() > known) {
+            Comment added = comments.get(comments.size() - 1);
+            changed.put(Field.COMMENT, added.getCreatedBy() + ": " + added.getContent());
+        }
+        return changed;
+    }
+
+    private static void putIfChanged(Map<Field, String> changed, Field field, String before, String after) {
+        if (!Objects.equals(before, after)) {
+            changed.put(field, after);
+        }
+    }
+
+    private static LocalDateTime timeOf(Ticket ticket) {
+        return ticket.getUpdatedAt() != null ? ticket.getUpdatedAt() : ticket.getCreatedAt();
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String name) {
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+
+    /**
+     * The records of one ticket, in file order.
+     */
+    /**
+     * A ticket's records in version order. Instances sharing a log append on their own
+     * writer threads, so one instance's record can reach the file after a later version
+     * written by another; such a record is inserted in its place.
+     */
+    private static final class Trail {
+        private byte[] kinds = new byte[4];
+        private long[] times = new long[4];
+        private long[] versions = new long[4];
+        private long[] offsets = new long[4];
+        private int size;
+
+        private void add(byte kind, long time, long version, long offset) {
+            if (size == kinds.length) {
+                kinds = Arrays.copyOf(kinds, size * 2);
+                times = Arrays.copyOf(times, size * 2);
+                versions = Arrays.copyOf(versions, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            int at = size;
+            while (at > 0 && belongsBefore(at - 1, kind, time, version)) {
+                at--;
+            }
+            System.arraycopy(kinds, at, kinds, at + 1, size - at);
+            System.arraycopy(times, at, times, at + 1, size - at);
+            System.arraycopy(versions, at, versions, at + 1, size - at);
+            System.arraycopy(offsets, at, offsets, at + 1, size - at);
+            kinds[at] = kind;
+            times[at] = time;
+            versions[at] = version;
+            offsets[at] = offset;
+            size++;
+        }
+
+        private boolean belongsBefore(int index, byte kind, long time, long version) {
+            if (isRemoval(kinds[index]) && time > times[index]) {
+                return false; // A ticket created again after a delete, with the same ID
+            }
+            // A delete carries the version it removed, so it sorts after that version's record
+            return versions[index] > version || versions[index] == version && !isRemoval(kind);
+        }
+
+        /**
+         * Returns the index of the last record at or before the packed time, or -1.
+         * Changes are timed under the store lock, so in version order their times are ascending.
+         */
+        private int lastAtOrBefore(long time) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (times[middle] <= time) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return high;
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoSupplier<T> {
+        T get() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface IoConsumer<T> {
+        void accept(T value) throws IOException;
+    }
+}
@@ -0,0 +1,419 @@
+package com.tickettracking;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A columnar copy of the fields TicketService filters on, kept in step with the
+ * published ticket vector so that queries scan primitive arrays instead of chasing
+ * Ticket objects across the heap.
+ *
+ * Row i describes the ticket at index i of the vector. IDs are stored as ints,
+ * timestamps as packed longs (see CompactTime), status and priority as byte ordinals,
+ * and the assignee as an int code into a dictionary of usernames.
+ *
+ * Queries are evaluated column by column into a bitmap with one bit per row, so each
+ * pass is a tight loop over one primitive array; the byte columns are compared eight
+ * rows at a time using ordinary long arithmetic.
+ *
+ * Writers are serialized by TicketService; a read-write lock keeps scans from seeing
+ * a half-applied change.
+ */
+final class TicketColumns {
+    static final int NO_ID = Integer.MIN_VALUE; // ID missing or not numeric
+    private static final byte NULL_ORDINAL = 31; // Outside every query mask
+    private static final int UNASSIGNED = -1;
+    private static final int UNKNOWN_ASSIGNEE = -2; // A name no ticket has ever had
+
+    // Word-at-a-time (SWAR) helpers for the byte columns
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long BYTE_ONES = 0x0101010101010101L;
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long GATHER_HIGH_BITS = 0x0102040810204080L; // Packs bit 0 of each byte into the top byte
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> assigneeCodes = new HashMap<>(); // Username -> code
+    private PersistentVector<Ticket> rows = PersistentVector.empty();
+    private int size;
+    private int[] ids = new int[64];
+    private long[] createdAt = new long[64];
+    private long[] updatedAt = new long[64];
+    private byte[] statuses = new byte[64];
+    private byte[] priorities = new byte[64];
+    private int[] assignees = new int[64];
+
+    /**
+     * Replaces all columns with the contents of the given vector.
+     */
+    void rebuild(PersistentVector<Ticket> tickets) {
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            ensureCapacity(tickets.size());
+            for (Ticket ticket : tickets) {
+                write(size++, ticket);
+            }
+            rows = tickets;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records that the last ticket of the given vector was just appended.
+     */
+    void appended(PersistentVector<Ticket> tickets) {
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(size + 1);
+            write(size++, tickets.get(tickets.size() - 1));
+            rows = tickets;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void replaced(int index, PersistentVector<Ticket> tickets) {
+        lock.writeLock().lock();
+        try {
+            write(index, tickets.get(index));
+            rows = tickets;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removed(int index, PersistentVector<Ticket> tickets) {
+        lock.writeLock().lock();
+        try {
+            int tail = size - index - 1;
+            System.arraycopy(ids, index + 1, ids, index, tail);
+            System.arraycopy(createdAt, index + 1, createdAt, index, tail);
+            System.arraycopy(updatedAt, index + 1, updatedAt, index, tail);
+            System.arraycopy(statuses, index + 1, statuses, index, tail);
+            System.arraycopy(priorities, index + 1, priorities, index, tail);
+            System.arraycopy(assignees, index + 1, assignees, index, tail);
+            size--;
+            rows = tickets;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the tickets matching the query, in store order.
+     */
+    List<Ticket> select(TicketQuery query) {
+        lock.readLock().lock();
+        try {
+            long[] bits = matchBitmap(new Scan(query));
+            List<Ticket> matches = new ArrayList<>();
+            for (int word = 0; word < bits.length; word++) {
+                long remaining = bits[word];
+                while (remaining != 0) {
+                    matches.add(rows.get((word << 6) + Long.numberOfTrailingZeros(remaining)));
+                    remaining &= remaining - 1;
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int count(TicketQuery query) {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (long word : matchBitmap(new Scan(query))) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts matches by testing each row in turn, the way scans worked before the
+     * bitmap filters. Kept as the reference the bitmap path is tested and benchmarked against.
+     */
+    int countRowByRow(TicketQuery query) {
+        lock.readLock().lock();
+        try {
+            Scan scan = new Scan(query);
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (scan.matches(i)) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends a row without a backing Ticket, so benchmarks can fill millions of rows
+     * cheaply. Such rows can be counted but not returned by select().
+     */
+    void appendRow(int id, LocalDateTime created, Ticket.Status status, Ticket.Priority priority, String assignee) {
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(size + 1);
+            ids[size] = id;
+            createdAt[size] = CompactTime.encode(created);
+            updatedAt[size] = createdAt[size];
+            statuses[size] = status != null ? (byte) status.ordinal() : NULL_ORDINAL;
+            priorities[size] = priority != null ? (byte) priority.ordinal() : NULL_ORDINAL;
+            assignees[size] = encodeAssignee(assignee);
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Evaluates the query one column at a time into a bitmap with one bit per row.
+     * Only active criteria are evaluated, and words that are already all zero are
+     * skipped by the later columns.
+     */
+    private long[] matchBitmap(Scan scan) {
+        long[] bits = new long[(size + 63) >>> 6];
+        Arrays.fill(bits, -1L);
+        if ((size & 63) != 0) {
+            bits[bits.length - 1] = (1L << (size & 63)) - 1;
+        }
+        if (scan.statusMask != -1) {
+            andByteIn(statuses, scan.statusMask, bits);
+        }
+        if (scan.priorityMask != -1) {
+            andByteIn(priorities, scan.priorityMask, bits);
+        }
+        if (scan.filterAssignee) {
+            andIntBetween(assignees, scan.assignee, scan.assignee, bits);
+        }
+        if (scan.createdFrom != Long.MIN_VALUE || scan.createdTo != Long.MAX_VALUE) {
+            andLongBetween(createdAt, scan.createdFrom, scan.createdTo, bits);
+        }
+        if (scan.updatedFrom != Long.MIN_VALUE || scan.updatedTo != Long.MAX_VALUE) {
+            andLongBetween(updatedAt, scan.updatedFrom, scan.updatedTo, bits);
+        }
+        if (scan.minId != NO_ID || scan.maxId != Integer.MAX_VALUE) {
+            andIntBetween(ids, scan.minId, scan.maxId, bits);
+        }
+        return bits;
+    }
+
+    /**
+     * Clears the bits of rows whose byte is not one of the ordinals in mask.
+     * Eight rows are compared per step: the column is read a long at a time, XORed
+     * with the wanted ordinal repeated in every byte, and the zero bytes (the equal
+     * rows) are found with carry-free arithmetic and packed into eight result bits.
+     */
+    private void andByteIn(byte[] column, int mask, long[] bits) {
+        long[] patterns = new long[Integer.bitCount(mask)];
+        for (int remaining = mask, i = 0; remaining != 0; remaining &= remaining - 1, i++) {
+            patterns[i] = BYTE_ONES * Integer.numberOfTrailingZeros(remaining);
+        }
+        for (int word = 0; word < bits.length; word++) {
+            if (bits[word] == 0) {
+                continue;
+            }
+            int base = word << 6;
+            int chunks = Math.min(8, (size - base + 7) >>> 3);
+            long result = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                // Capacity is a multiple of 64 rows, so this read never runs past the array
+                long values = (long) LONG_VIEW.get(column, base + (chunk << 3));
+                long equal = 0;
+                for (long pattern : patterns) {
+                    equal |= zeroBytes(values ^ pattern);
+                }
+                result |= ((equal >>> 7) * GATHER_HIGH_BITS >>> 56) << (chunk << 3);
+            }
+            bits[word] &= result;
+        }
+    }
+
+    /**
+     * Returns a long with the high bit of each byte set where that byte of value is zero.
+     */
+    private static long zeroBytes(long value) {
+        return ~(((value & LOW_SEVEN_BITS) + LOW_SEVEN_BITS) | value | LOW_SEVEN_BITS);
+    }
+
+    /**
+     * Clears the bits of rows whose value is outside [min, max]. Only rows still set
+     * are tested, so a selective byte filter run first makes this pass cheap.
+     */
+    private void andIntBetween(int[] column, int min, int max, long[] bits) {
+        for (int word = 0; word < bits.length; word++) {
+            int base = word << 6;
+            for (long remaining = bits[word]; remaining != 0; remaining &= remaining - 1) {
+                int bit = Long.numberOfTrailingZeros(remaining);
+                int value = column[base + bit];
+                if (value < min || value > max) {
+                    bits[word] &= ~(1L << bit);
+                }
+            }
+        }
+    }
+
+    private void andLongBetween(long[] column, long fromInclusive, long toExclusive, long[] bits) {
+        for (int word = 0; word < bits.length; word++) {
+            int base = word << 6;
+            for (long remaining = bits[word]; remaining != 0; remaining &= remaining - 1) {
+                int bit = Long.numberOfTrailingZeros(remaining);
+                long value = column[base + bit];
+                if (value < fromInclusive || value >= toExclusive) {
+                    bits[word] &= ~(1L << bit);
+                }
+            }
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static int parseId(String id) {
+        if (id == null || id.isEmpty() || id.length() > 10) {
+            return NO_ID;
+        }
+        int value = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return NO_ID;
+            }
+            long next = value * 10L + (c - '0');
+            if (next > Integer.MAX_VALUE) {
+                return NO_ID;
+            }
+            value = (int) next;
+        }
+        return value;
+    }
+
+    private void write(int row, Ticket ticket) {
+        ids[row] = parseId(ticket.getId());
+        createdAt[row] = ticket.packedCreatedAt();
+        updatedAt[row] = ticket.packedUpdatedAt();
+        statuses[row] = ticket.getStatus() != null ? (byte) ticket.getStatus().ordinal() : NULL_ORDINAL;
+        priorities[row] = ticket.getPriority() != null ? (byte) ticket.getPriority().ordinal() : NULL_ORDINAL;
+        assignees[row] = encodeAssignee(ticket.getAssignedTo());
+    }
+
+    private int encodeAssignee(String assignee) {
+        if (assignee == null) {
+            return UNASSIGNED;
+        }
+        return assigneeCodes.computeIfAbsent(assignee, name -> assigneeCodes.size());
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        // A multiple of 64 rows, so byte columns can always be read a long at a time
+        int newLength = (Math.max(capacity, ids.length * 2) + 63) & ~63;
+        ids = Arrays.copyOf(ids, newLength);
+        createdAt = Arrays.copyOf(createdAt, newLength);
+        updatedAt = Arrays.copyOf(updatedAt, newLength);
+        statuses = Arrays.copyOf(statuses, newLength);
+        priorities = Arrays.copyOf(priorities, newLength);
+        assignees = Arrays.copyOf(assignees, newLength);
+    }
+
+    /**
+     * A query translated into primitive comparisons against the columns:
+     * bit masks for the enum sets, a dictionary code for the assignee and
+     * packed bounds for the creation time.
+     */
+    private final class Scan {
+        private final int statusMask;
+        private final int priorityMask;
+        private final boolean filterAssignee;
+        private final int assignee;
+        private final long createdFrom;
+        private final long createdTo;
+        private final long updatedFrom;
+        private final long updatedTo;
+        private final int minId;
+        private final int maxId;
+
+        private Scan(TicketQuery query) {
+            statusMask = mask(query.getStatuses());
+            priorityMask = mask(query.getPriorities());
+            filterAssignee = query.isFilteringAssignee();
+            if (query.getAssignee() == null) {
+                assignee = UNASSIGNED;
+            } else {
+                assignee = assigneeCodes.getOrDefault(query.getAssignee(), UNKNOWN_ASSIGNEE);
+            }
+            createdFrom = lowerBound(query.getCreatedFrom(), query.getCreatedTo());
+            createdTo = query.getCreatedTo() != null ? CompactTime.encode(query.getCreatedTo()) : Long.MAX_VALUE;
+            updatedFrom = lowerBound(query.getUpdatedFrom(), query.getUpdatedTo());
+            updatedTo = query.getUpdatedTo() != null ? CompactTime.encode(query.getUpdatedTo()) : Long.MAX_VALUE;
+            minId = query.isFilteringId() ? Math.max(query.getMinId(), NO_ID + 1) : NO_ID;
+            maxId = query.getMaxId();
+        }
+
+        private boolean matches(int row) {
+            if ((statusMask >>> statuses[row] & 1) == 0 || (priorityMask >>> priorities[row] & 1) == 0) {
+                return false;
+            }
+            if (filterAssignee && assignees[row] != assignee) {
+                return false;
+            }
+            long created = createdAt[row];
+            if (created < createdFrom || created >= createdTo) {
+                return false;
+            }
+            long updated = updatedAt[row];
+            if (updated < updatedFrom || updated >= updatedTo) {
+                return false;
+            }
+            int id = ids[row];
+            return id >= minId && id <= maxId;
+        }
+    }
+
+    /**
+     * Returns the packed lower bound of a time range. A missing time is NONE
+     * (Long.MIN_VALUE), which any bound, including a lone upper bound, must exclude.
+     */
+    private static long lowerBound(LocalDateTime from, LocalDateTime to) {
+        if (from != null) {
+            return CompactTime.encode(from);
+        }
+        return to != null ? CompactTime.NONE + 1 : Long.MIN_VALUE;
+    }
+
+    private static int mask(Set<? extends Enum<?>> values) {
+        if (values.isEmpty()) {
+            return -1; // Every ordinal, including NULL_ORDINAL
+        }
+        int mask = 0;
+        for (Enum<?> value : values) {
+            mask |= 1 << value.ordinal();
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,26 @@
+package com.tickettracking;
+
+/**
+ * Thrown by TicketService when an update is based on an out-of-date copy of a ticket,
+ * because the ticket was changed (possibly by another application instance) after
+ * the caller read it. The caller should reload the ticket and reapply its edits.
+ */
+public class TicketConflictException extends RuntimeException {
+    private final String ticketId;
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    public TicketConflictException(String ticketId, long expectedVersion, long actualVersion) {
+        super("Ticket " + ticketId + " was modified by someone else (edited version "
+                + expectedVersion + ", current version " + actualVersion + ")");
+        this.ticketId = ticketId;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public String getTicketId() { return ticketId; }
+
+    public long getExpectedVersion() { return expectedVersion; }
+
+    public long getActualVersion() { return actualVersion; }
+}
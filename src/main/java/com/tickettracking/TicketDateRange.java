@@ -0,0 +1,47 @@
+package com.tickettracking;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * The date windows offered by the main view's date filter. Each window is open-ended
+ * and starts at a point computed from the current time.
+ */
+public enum TicketDateRange {
+    LAST_24_HOURS("Last 24 hours"),
+    TODAY("Today"),
+    THIS_WEEK("This week"),
+    LAST_7_DAYS("Last 7 days"),
+    LAST_30_DAYS("Last 30 days");
+
+    private final String label;
+
+    TicketDateRange(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the start of this window as seen at the given time. Weeks start on Monday.
+     */
+    public LocalDateTime start(LocalDateTime now) {
+        switch (this) {
+            case LAST_24_HOURS:
+                return now.minusHours(24);
+            case TODAY:
+                return now.truncatedTo(ChronoUnit.DAYS);
+            case THIS_WEEK:
+                return now.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case LAST_7_DAYS:
+                return now.minusDays(7);
+            default:
+                return now.minusDays(30);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,30 @@
+package com.tickettracking;
+
+/**
+ * Describes a single change made to the ticket store by TicketService.
+ * Listeners receive one event per created, updated, deleted or archived ticket, which
+ * lets views and summaries update incrementally instead of rescanning all tickets.
+ */
+public class TicketEvent {
+    private final Type type;
+    private final Ticket ticket;
+
+    public enum Type {
+        CREATED, UPDATED, DELETED,
+        ARCHIVED // Moved out of the live store into a read-only archive segment
+    }
+
+    public TicketEvent(Type type, Ticket ticket) {
+        this.type = type;
+        this.ticket = ticket;
+    }
+
+    public Type getType() { return type; }
+
+    public Ticket getTicket() { return ticket; }
+
+    @Override
+    public String toString() {
+        return type + " " + (ticket != null ? ticket.getId() : null);
+    }
+}
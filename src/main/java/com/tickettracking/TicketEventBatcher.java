@@ -0,0 +1,87 @@
+package com.tickettracking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A TicketService change listener that hands events to a consumer in batches on
+ * another thread, typically the JavaFX application thread:
+ *
+ * <pre>
+ * ticketService.addChangeListener(new TicketEventBatcher(Platform::runLater, this::applyEvents));
+ * </pre>
+ *
+ * Mutating threads only append to a lock-free queue, so they never wait for the UI.
+ * At most one drain is scheduled on the executor at a time: events arriving before it
+ * runs join the same batch, so with Platform.runLater the UI sees one batch per pulse
+ * however fast tickets change. A batch holds at most maxBatch events, in the order they
+ * were published; any remainder is scheduled as a further batch, which keeps a single
+ * pulse from stalling after a bulk change.
+ */
+public class TicketEventBatcher implements Consumer<TicketEvent> {
+    private static final int DEFAULT_MAX_BATCH = 10_000;
+
+    private final Queue<TicketEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Executor executor;
+    private final Consumer<List<TicketEvent>> handler;
+    private final int maxBatch;
+
+    public TicketEventBatcher(Executor executor, Consumer<List<TicketEvent>> handler) {
+        this(executor, handler, DEFAULT_MAX_BATCH);
+    }
+
+    public TicketEventBatcher(Executor executor, Consumer<List<TicketEvent>> handler, int maxBatch) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatch);
+        }
+        this.executor = executor;
+        this.handler = handler;
+        this.maxBatch = maxBatch;
+    }
+
+    @Override
+    public void accept(TicketEvent event) {
+        queue.add(event);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        List<TicketEvent> batch = new ArrayList<>(Math.min(queue.size(), maxBatch));
+        TicketEvent event;
+        while (batch.size() < maxBatch && (event = queue.poll()) != null) {
+            batch.add(event);
+        }
+        try {
+            if (!batch.isEmpty()) {
+                handler.accept(batch);
+            }
+        } catch (RuntimeException e) {
+            Logger.getLogger(getClass().getName()).log(Level.WARNING,
+                    "Ticket event batch handler failed", e);
+        } finally {
+            scheduled.set(false);
+            // Events published while this batch was handled (or left over) would otherwise
+            // wait for the next publish
+            if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events waiting for a batch.
+     */
+    public int pending() {
+        return queue.size();
+    }
+}
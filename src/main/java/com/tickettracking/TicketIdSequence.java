@@ -0,0 +1,78 @@
+package com.tickettracking;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * The highest numeric ticket ID ever issued for a store, kept in a small file next to
+ * the store so that the IDs of deleted and archived tickets are never issued again.
+ *
+ * The file is read on every call, so instances sharing a store draw from one sequence;
+ * TicketService calls it under its store lock. The file is replaced atomically, and the
+ * next ID is recorded before the ticket is saved, so a crash can skip an ID but never
+ * reuse one.
+ */
+final class TicketIdSequence {
+    private final Path file;
+
+    TicketIdSequence(Path file) {
+        this.file = file;
+    }
+
+    boolean exists() {
+        return Files.exists(file);
+    }
+
+    /**
+     * Returns the highest ID issued, or 0 if none has been recorded.
+     */
+    int last() throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        String text = Files.readString(file, StandardCharsets.UTF_8).trim();
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IOException("Ticket ID sequence is not a number: " + file, e);
+        }
+    }
+
+    /**
+     * Records and returns the next ID.
+     */
+    int next() throws IOException {
+        int next = last() + 1;
+        write(next);
+        return next;
+    }
+
+    /**
+     * Records that the ID is in use, if it is higher than any issued so far. Creates
+     * the file if there is none.
+     */
+    void advanceTo(int id) throws IOException {
+        int last = last();
+        if (id > last || !exists()) {
+            write(Math.max(id, last));
+        }
+    }
+
+    private void write(int id) throws IOException {
+        Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(tempFile, Integer.toString(id), StandardCharsets.UTF_8);
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+}
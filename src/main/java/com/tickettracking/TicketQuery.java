@@ -0,0 +1,235 @@
+package com.tickettracking;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A filter over tickets by status, priority, assignee, creation and update time,
+ * numeric ID and free text.
+ * Criteria that are not set match every ticket, and criteria are combined with AND.
+ * Queries are built fluently, for example:
+ *
+ * <pre>
+ * new TicketQuery().status(Ticket.Status.OPEN).priority(Ticket.Priority.HIGH).assignedTo("support1")
+ * </pre>
+ *
+ * TicketService evaluates queries against its columnar index when that is enabled, and
+ * otherwise with {@link #matches(Ticket)}, which gives the same answer for a single ticket.
+ */
+public class TicketQuery {
+    private final Set<Ticket.Status> statuses = EnumSet.noneOf(Ticket.Status.class);
+    private final Set<Ticket.Priority> priorities = EnumSet.noneOf(Ticket.Priority.class);
+    private boolean filterAssignee;
+    private String assignee; // null with filterAssignee set means unassigned
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+    private LocalDateTime updatedFrom;
+    private LocalDateTime updatedTo;
+    private boolean filterId;
+    private int minId = Integer.MIN_VALUE;
+    private int maxId = Integer.MAX_VALUE;
+    private String text; // Lower-cased search text, or null
+
+    /**
+     * Restricts the query to the given statuses. Repeated calls add to the set.
+     */
+    public TicketQuery status(Ticket.Status... statuses) {
+        Collections.addAll(this.statuses, statuses);
+        return this;
+    }
+
+    /**
+     * Restricts the query to tickets that are neither resolved nor closed.
+     */
+    public TicketQuery open() {
+        for (Ticket.Status status : Ticket.Status.values()) {
+            if (status.isOpen()) {
+                statuses.add(status);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Restricts the query to the given priorities. Repeated calls add to the set.
+     */
+    public TicketQuery priority(Ticket.Priority... priorities) {
+        Collections.addAll(this.priorities, priorities);
+        return this;
+    }
+
+    /**
+     * Restricts the query to tickets assigned to the given user (exact match),
+     * or to unassigned tickets when assignee is null.
+     */
+    public TicketQuery assignedTo(String assignee) {
+        this.filterAssignee = true;
+        this.assignee = assignee;
+        return this;
+    }
+
+    /**
+     * Restricts the query to tickets created at or after from and before to.
+     * Either bound may be null to leave that side open.
+     */
+    public TicketQuery createdBetween(LocalDateTime from, LocalDateTime to) {
+        this.createdFrom = from;
+        this.createdTo = to;
+        return this;
+    }
+
+    /**
+     * Restricts the query to tickets last updated at or after from and before to.
+     * Either bound may be null to leave that side open.
+     */
+    public TicketQuery updatedBetween(LocalDateTime from, LocalDateTime to) {
+        this.updatedFrom = from;
+        this.updatedTo = to;
+        return this;
+    }
+
+    /**
+     * Restricts the query to tickets with a numeric ID between min and max inclusive.
+     */
+    public TicketQuery idBetween(int min, int max) {
+        this.filterId = true;
+        this.minId = min;
+        this.maxId = max;
+        return this;
+    }
+
+    /**
+     * Restricts the query to tickets whose title, ID, status or assignee contains the
+     * given text, ignoring case. Blank text removes the restriction.
+     */
+    public TicketQuery containing(String text) {
+        String trimmed = text != null ? text.trim().toLowerCase() : "";
+        this.text = trimmed.isEmpty() ? null : trimmed;
+        return this;
+    }
+
+    /**
+     * Returns an independent query with the same criteria.
+     */
+    public TicketQuery copy() {
+        TicketQuery copy = new TicketQuery();
+        copy.statuses.addAll(statuses);
+        copy.priorities.addAll(priorities);
+        copy.filterAssignee = filterAssignee;
+        copy.assignee = assignee;
+        copy.createdFrom = createdFrom;
+        copy.createdTo = createdTo;
+        copy.updatedFrom = updatedFrom;
+        copy.updatedTo = updatedTo;
+        copy.filterId = filterId;
+        copy.minId = minId;
+        copy.maxId = maxId;
+        copy.text = text;
+        return copy;
+    }
+
+    public Set<Ticket.Status> getStatuses() {
+        return Collections.unmodifiableSet(statuses);
+    }
+
+    public Set<Ticket.Priority> getPriorities() {
+        return Collections.unmodifiableSet(priorities);
+    }
+
+    public boolean isFilteringAssignee() {
+        return filterAssignee;
+    }
+
+    public String getAssignee() {
+        return assignee;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public LocalDateTime getUpdatedFrom() {
+        return updatedFrom;
+    }
+
+    public LocalDateTime getUpdatedTo() {
+        return updatedTo;
+    }
+
+    /**
+     * Returns true if the query restricts the creation or update time.
+     */
+    public boolean hasTimeRange() {
+        return createdFrom != null || createdTo != null || updatedFrom != null || updatedTo != null;
+    }
+
+    public boolean isFilteringId() {
+        return filterId;
+    }
+
+    public int getMinId() {
+        return minId;
+    }
+
+    public int getMaxId() {
+        return maxId;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean matches(Ticket ticket) {
+        if (!statuses.isEmpty() && !statuses.contains(ticket.getStatus())) {
+            return false;
+        }
+        if (!priorities.isEmpty() && !priorities.contains(ticket.getPriority())) {
+            return false;
+        }
+        if (filterAssignee && !Objects.equals(assignee, ticket.getAssignedTo())) {
+            return false;
+        }
+        if (!inRange(ticket.getCreatedAt(), createdFrom, createdTo)
+                || !inRange(ticket.getUpdatedAt(), updatedFrom, updatedTo)) {
+            return false;
+        }
+        if (filterId) {
+            int id = TicketColumns.parseId(ticket.getId());
+            if (id == TicketColumns.NO_ID || id < minId || id > maxId) {
+                return false;
+            }
+        }
+        return matchesText(ticket);
+    }
+
+    /**
+     * Tests only the free-text criterion, for tickets already known to match the rest.
+     */
+    public boolean matchesText(Ticket ticket) {
+        return text == null
+                || contains(ticket.getTitle())
+                || contains(ticket.getId())
+                || (ticket.getStatus() != null && contains(ticket.getStatus().toString()))
+                || contains(ticket.getAssignedTo());
+    }
+
+    private static boolean inRange(LocalDateTime time, LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return true;
+        }
+        return time != null
+                && (from == null || !time.isBefore(from))
+                && (to == null || time.isBefore(to));
+    }
+
+    private boolean contains(String value) {
+        return value != null && value.toLowerCase().contains(text);
+    }
+}
@@ -0,0 +1,138 @@
+package com.tickettracking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * Filters and sorts lists of tickets, splitting large lists across the common
+ * ForkJoinPool and keeping small ones on the calling thread.
+ *
+ * Whether to fork is decided per call from the list size and a running estimate of
+ * the per-element cost of each operation, measured on the serial runs. Forking only
+ * pays off once the serial work would take longer than a fraction of a millisecond,
+ * so typical stores of a few thousand tickets never leave the calling thread.
+ * Results are always in the same order a serial run would produce.
+ */
+final class TicketQueryExecutor {
+    // Lists shorter than this are never split, however expensive the operation
+    private static final int MIN_PARALLEL_SIZE = Integer.getInteger("tickettracking.parallelThreshold", 20_000);
+    private static final long MIN_PARALLEL_NANOS = 500_000;
+
+    private final int minParallelSize;
+    private final long minParallelNanos;
+    private final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+    private final CostEstimate filterCost = new CostEstimate(50); // Nanoseconds per element tested
+    private final CostEstimate sortCost = new CostEstimate(15); // Nanoseconds per comparison
+
+    TicketQueryExecutor() {
+        this(MIN_PARALLEL_SIZE, MIN_PARALLEL_NANOS);
+    }
+
+    TicketQueryExecutor(int minParallelSize, long minParallelNanos) {
+        this.minParallelSize = minParallelSize;
+        this.minParallelNanos = minParallelNanos;
+    }
+
+    /**
+     * Returns the elements of source that match the predicate, in source order.
+     * The predicate may be called from several threads at once.
+     */
+    <T> List<T> filter(List<T> source, Predicate<? super T> predicate) {
+        int size = source.size();
+        if (!worthForking(size, size, filterCost)) {
+            long start = System.nanoTime();
+            List<T> matches = new ArrayList<>();
+            for (T element : source) {
+                if (predicate.test(element)) {
+                    matches.add(element);
+                }
+            }
+            filterCost.record(System.nanoTime() - start, size);
+            return matches;
+        }
+        int leafSize = Math.max(1024, size / (parallelism * 4));
+        return ForkJoinPool.commonPool().invoke(new FilterTask<>(source, predicate, 0, size, leafSize));
+    }
+
+    /**
+     * Returns a new list with the elements of source in the given order. The sort is
+     * stable, and the comparator may be called from several threads at once.
+     */
+    @SuppressWarnings("unchecked")
+    <T> List<T> sort(List<T> source, Comparator<? super T> order) {
+        T[] elements = (T[]) source.toArray();
+        int size = elements.length;
+        double comparisons = size * (double) (32 - Integer.numberOfLeadingZeros(size));
+        if (!worthForking(size, comparisons, sortCost)) {
+            long start = System.nanoTime();
+            Arrays.sort(elements, order);
+            sortCost.record(System.nanoTime() - start, comparisons);
+        } else {
+            Arrays.parallelSort(elements, order);
+        }
+        return Arrays.asList(elements);
+    }
+
+    private boolean worthForking(int size, double units, CostEstimate cost) {
+        return parallelism > 1 && size >= minParallelSize && units * cost.nanosPerUnit >= minParallelNanos;
+    }
+
+    /**
+     * An exponentially weighted average of the time one unit of work took on a
+     * serial run. Runs too short to time reliably are ignored.
+     */
+    private static final class CostEstimate {
+        private volatile double nanosPerUnit;
+
+        CostEstimate(double initialNanosPerUnit) {
+            this.nanosPerUnit = initialNanosPerUnit;
+        }
+
+        void record(long nanos, double units) {
+            if (units >= 1000) {
+                nanosPerUnit = 0.75 * nanosPerUnit + 0.25 * (nanos / units);
+            }
+        }
+    }
+
+    private static final class FilterTask<T> extends RecursiveTask<List<T>> {
+        private final List<T> source;
+        private final Predicate<? super T> predicate;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        FilterTask(List<T> source, Predicate<? super T> predicate, int from, int to, int leafSize) {
+            this.source = source;
+            this.predicate = predicate;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected List<T> compute() {
+            if (to - from <= leafSize) {
+                List<T> matches = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    T element = source.get(i);
+                    if (predicate.test(element)) {
+                        matches.add(element);
+                    }
+                }
+                return matches;
+            }
+            int middle = (from + to) >>> 1;
+            FilterTask<T> right = new FilterTask<>(source, predicate, middle, to, leafSize);
+            right.fork();
+            List<T> matches = new FilterTask<>(source, predicate, from, middle, leafSize).compute();
+            matches.addAll(right.join());
+            return matches;
+        }
+    }
+}
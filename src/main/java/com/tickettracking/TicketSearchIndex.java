@@ -0,0 +1,378 @@
+package com.tickettracking;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A trigram index over the text of the ticket store, maintained by TicketService on
+ * every mutation, for typo-tolerant search ranked by relevance.
+ *
+ * Every word of a ticket's title, ID, assignee, status, description and comments is
+ * split into overlapping three-character grams, with two leading spaces marking the
+ * start of the word ("  p", " pr", "pri", "rin", ...), and each gram maps to a posting
+ * list of the tickets containing it. A search word within e edits of a ticket word
+ * still shares all but about 3e of its grams, so the candidates for a search are the
+ * tickets that reach that count in the posting lists of the search words' grams. The
+ * cost depends on how many tickets share grams with the search, not on the size of the
+ * store. Candidates are then checked word by word and ranked by {@link #rank}.
+ *
+ * Tickets are numbered in the order they are indexed, so posting lists are appended in
+ * ascending order. A changed ticket gets a new number and its old number is left dead in
+ * the posting lists until dead numbers outnumber live ones, when the index is rebuilt.
+ */
+final class TicketSearchIndex {
+    private static final int COMPACT_MIN_DEAD = 1024;
+    private static final double RECENCY_HALF_LIFE_DAYS = 30;
+    private static final double NANOS_PER_DAY = 86_400e9;
+
+    private final Map<Long, Postings> postings = new HashMap<>(); // Gram -> ticket numbers
+    private final List<Ticket> tickets = new ArrayList<>(); // Ticket number -> ticket, null once changed or removed
+    private final Map<String, Integer> numbers = new HashMap<>(); // Ticket ID -> current number
+    private int dead;
+
+    /**
+     * Records a ticket that was just created, loaded or changed.
+     */
+    synchronized void updated(Ticket ticket) {
+        removed(ticket.getId());
+        add(ticket);
+    }
+
+    synchronized void removed(String id) {
+        Integer number = numbers.remove(id);
+        if (number == null) {
+            return;
+        }
+        tickets.set(number, null);
+        dead++;
+        if (dead >= COMPACT_MIN_DEAD && dead > tickets.size() - dead) {
+            List<Ticket> live = new ArrayList<>(tickets.size() - dead);
+            for (Ticket ticket : tickets) {
+                if (ticket != null) {
+                    live.add(ticket);
+                }
+            }
+            rebuild(live);
+        }
+    }
+
+    synchronized void rebuild(List<Ticket> tickets) {
+        postings.clear();
+        this.tickets.clear();
+        numbers.clear();
+        dead = 0;
+        for (Ticket ticket : tickets) {
+            add(ticket);
+        }
+    }
+
+    private void add(Ticket ticket) {
+        int number = tickets.size();
+        tickets.add(ticket);
+        numbers.put(ticket.getId(), number);
+        for (Word word : words(ticket)) {
+            for (long gram : grams(word.text)) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(number);
+            }
+        }
+    }
+
+    /**
+     * Returns the tickets that may match every word of the text, in index order. The
+     * result is a superset of the matches; {@link #rank} makes the final decision.
+     */
+    synchronized List<Ticket> candidates(String text) {
+        int[] matching = null;
+        for (String term : terms(text)) {
+            int[] termMatches = matchingNumbers(term);
+            matching = matching == null ? termMatches : intersect(matching, termMatches);
+            if (matching.length == 0) {
+                break;
+            }
+        }
+        List<Ticket> result = new ArrayList<>(matching != null ? matching.length : 0);
+        if (matching != null) {
+            for (int number : matching) {
+                result.add(tickets.get(number));
+            }
+        }
+        return result;
+    }
+
+    private int[] matchingNumbers(String term) {
+        int maxEdits = maxEdits(term);
+        // Grams not touched by an edit; with no edits allowed, a word that only contains
+        // the term (and a short term, which must be a prefix) still has all of them
+        int required = maxEdits == 0
+                ? (term.length() >= 3 ? term.length() - 2 : term.length())
+                : Math.max(1, term.length() - 2 - 3 * maxEdits);
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (long gram : distinct(grams(term))) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                continue;
+            }
+            for (int i = 0; i < list.size; i++) {
+                counts.merge(list.numbers[i], 1, Integer::sum);
+            }
+        }
+        int[] matches = new int[counts.size()];
+        int size = 0;
+        for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() >= required && tickets.get(entry.getKey()) != null) {
+                matches[size++] = entry.getKey();
+            }
+        }
+        matches = Arrays.copyOf(matches, size);
+        Arrays.sort(matches);
+        return matches;
+    }
+
+    /**
+     * Returns the tickets that pass the filter and match every word of the text, best
+     * match first, at most limit of them.
+     *
+     * Each search word must match a ticket word exactly, as a prefix, inside it, or
+     * within one edit (two for words of eight or more letters); closer matches score
+     * higher. A word's score grows with the number of matches, weighted by field (title
+     * and ID over assignee over the rest), with diminishing returns. The total is then
+     * boosted by up to 2x for recent activity, halving every 30 days.
+     */
+    static List<Ticket> rank(Collection<Ticket> candidates, String text, Predicate<? super Ticket> filter,
+                             int limit, LocalDateTime now) {
+        List<String> terms = terms(text);
+        long nowPacked = CompactTime.encode(now);
+        List<Scored> scored = new ArrayList<>();
+        for (Ticket ticket : candidates) {
+            if (!filter.test(ticket)) {
+                continue;
+            }
+            double score = score(ticket, terms, nowPacked);
+            if (score > 0) {
+                scored.add(new Scored(ticket, score));
+            }
+        }
+        scored.sort((a, b) -> Double.compare(b.score, a.score)); // Stable, so ties keep candidate order
+        List<Ticket> result = new ArrayList<>(Math.min(limit, scored.size()));
+        for (int i = 0; i < scored.size() && i < limit; i++) {
+            result.add(scored.get(i).ticket);
+        }
+        return result;
+    }
+
+    private static double score(Ticket ticket, List<String> terms, long now) {
+        if (terms.isEmpty()) {
+            return 0;
+        }
+        List<Word> words = words(ticket);
+        double relevance = 0;
+        for (String term : terms) {
+            int maxEdits = maxEdits(term);
+            double frequency = 0;
+            for (Word word : words) {
+                frequency += quality(term, word.text, maxEdits) * word.weight;
+            }
+            if (frequency == 0) {
+                return 0;
+            }
+            relevance += Math.log1p(frequency);
+        }
+        long lastActivity = ticket.packedUpdatedAt() != CompactTime.NONE ? ticket.packedUpdatedAt() : ticket.packedCreatedAt();
+        if (lastActivity != CompactTime.NONE) {
+            double ageDays = Math.max(0, now - lastActivity) / NANOS_PER_DAY;
+            relevance *= 1 + Math.pow(0.5, ageDays / RECENCY_HALF_LIFE_DAYS);
+        }
+        return relevance;
+    }
+
+    private static double quality(String term, String word, int maxEdits) {
+        if (word.equals(term)) {
+            return 1;
+        }
+        if (word.startsWith(term)) {
+            return 0.8;
+        }
+        if (maxEdits > 0) {
+            int distance = editDistance(term, word, maxEdits);
+            if (distance <= maxEdits) {
+                return 0.6 / distance;
+            }
+        }
+        if (term.length() >= 3 && word.contains(term)) {
+            return 0.5;
+        }
+        if (maxEdits > 0 && word.length() > term.length()) {
+            // A misspelt prefix of a longer word, as while typing
+            int distance = editDistance(term, word.substring(0, term.length()), maxEdits);
+            if (distance <= maxEdits) {
+                return 0.4 / distance;
+            }
+        }
+        return 0;
+    }
+
+    private static int maxEdits(String term) {
+        return term.length() <= 3 ? 0 : term.length() < 8 ? 1 : 2;
+    }
+
+    /**
+     * Returns the optimal string alignment distance (edits, counting a swap of two
+     * adjacent characters as one), or max + 1 if it is greater than max.
+     */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] twoBack = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, twoBack[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = twoBack;
+            twoBack = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    /**
+     * Splits text into lower-case words of letters and digits.
+     */
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                terms.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        return terms;
+    }
+
+    private static List<Word> words(Ticket ticket) {
+        List<Word> words = new ArrayList<>();
+        addWords(words, ticket.getTitle(), 3);
+        addWords(words, ticket.getId(), 3);
+        addWords(words, ticket.getAssignedTo(), 2);
+        addWords(words, ticket.getStatus() != null ? ticket.getStatus().toString() : null, 1);
+        addWords(words, ticket.getDescription(), 1);
+        for (Comment comment : ticket.getComments()) {
+            addWords(words, comment.getContent(), 1);
+        }
+        return words;
+    }
+
+    private static void addWords(List<Word> words, String text, int weight) {
+        for (String term : terms(text)) {
+            words.add(new Word(term, weight));
+        }
+    }
+
+    private static long[] grams(String word) {
+        long[] grams = new long[word.length()];
+        for (int i = 0; i < word.length(); i++) {
+            grams[i] = ((long) charAt(word, i - 2) << 32) | ((long) charAt(word, i - 1) << 16) | word.charAt(i);
+        }
+        return grams;
+    }
+
+    private static char charAt(String word, int index) {
+        return index < 0 ? ' ' : word.charAt(index);
+    }
+
+    private static Set<Long> distinct(long[] grams) {
+        Set<Long> distinct = new HashSet<>();
+        for (long gram : grams) {
+            distinct.add(gram);
+        }
+        return distinct;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * An ascending list of ticket numbers. A ticket is indexed in one go, so a gram
+     * repeated within it is skipped by comparing with the last number.
+     */
+    private static final class Postings {
+        private int[] numbers = new int[4];
+        private int size;
+
+        void add(int number) {
+            if (size > 0 && numbers[size - 1] == number) {
+                return;
+            }
+            if (size == numbers.length) {
+                numbers = Arrays.copyOf(numbers, size * 2);
+            }
+            numbers[size++] = number;
+        }
+    }
+
+    private static final class Word {
+        private final String text;
+        private final int weight;
+
+        private Word(String text, int weight) {
+            this.text = text;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Scored {
+        private final Ticket ticket;
+        private final double score;
+
+        private Scored(Ticket ticket, double score) {
+            this.ticket = ticket;
+            this.score = score;
+        }
+    }
+}
@@ -1,52 +1,286 @@
 package com.tickettracking;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
 
 /**
  * The TicketService class provides functionalities to manage Ticket objects.
  * It handles CRUD (Create, Read, Update, Delete) operations and persists tickets
  * in a JSON file for storage.
+ *
+ * Stored tickets are frozen snapshots (see {@link Ticket#snapshot()}), so they can be
+ * handed to any number of readers without copying or locking. The store as a whole is
+ * published as an immutable {@link PersistentVector}: {@link #getAllTickets()} returns
+ * it as-is, and each mutation builds the next version by sharing all untouched parts. Editors work on a copy and updateTicket acts as a compare-and-set on
+ * the ticket version.
+ *
+ * With -Dtickettracking.shardSize=N the store is split into files of N tickets by ID
+ * range, so a change rewrites one small file instead of the whole store (see
+ * {@link TicketStoreFiles}).
+ *
+ * Several instances may share one store file. Every mutation takes a file lock,
+ * first merges any changes other instances wrote since this one last saw the file,
+ * and then writes the file atomically. Tickets carry a version number, and an update
+ * made from a stale copy fails with a TicketConflictException instead of silently
+ * overwriting someone else's change.
  */
-public class TicketService {
+public class TicketService implements AutoCloseable {
     private static final String FILE_PATH = "src/main/resources/tickets/tickets.json";
-    private final ObjectMapper objectMapper;
-    private List<Ticket> tickets; // Cache the tickets in memory
+    // Serializes writers in this JVM, since a file lock cannot be held twice by one process
+    private static final Map<Path, Object> STORE_MONITORS = new ConcurrentHashMap<>();
+    private static final int MAX_MODIFY_ATTEMPTS = 5;
+    // Opt-in: the columnar index speeds up findTickets, but copies the filtered fields at ~30 bytes per ticket
+    private static final boolean COLUMNAR_INDEX = Boolean.getBoolean("tickettracking.columnarIndex");
+    // Descriptions and comment bodies are held deflated once the store has this much text to train on
+    private static final boolean COMPRESS_TEXT =
+            Boolean.parseBoolean(System.getProperty("tickettracking.compressText", "true"));
+    private static final int MIN_TRAINING_CHARS = 16 * 1024;
+    // The trigram index keeps searchTickets sublinear at the cost of a few hundred bytes per ticket
+    private static final boolean SEARCH_INDEX =
+            Boolean.parseBoolean(System.getProperty("tickettracking.searchIndex", "true"));
+    // Tickets per shard file; 0 keeps the whole store in one file
+    private static final int SHARD_SIZE = Integer.getInteger("tickettracking.shardSize", 0);
+    // Startup archiving is opt-in: 0 leaves every ticket in the live store
+    private static final int ARCHIVE_AFTER_DAYS = Integer.getInteger("tickettracking.archiveAfterDays", 0);
+
+    private final Path storePath;
+    private final Path lockPath;
+    private final Object storeMonitor;
+    private volatile PersistentVector<Ticket> tickets; // Published snapshot of the store
+    private final Map<String, Integer> positions = new HashMap<>(); // Ticket ID -> index in tickets, guarded by this
+    private final Map<String, Ticket> ticketsById = new ConcurrentHashMap<>();
+    private final TicketStoreFiles files;
+    private final TicketIdSequence idSequence;
+    private TicketStoreWatcher watcher;
+    private final TicketAggregates aggregates = new TicketAggregates();
+    private final TicketColumns columns; // Null when the columnar index is disabled
+    private final TicketQueryExecutor executor = new TicketQueryExecutor();
+    private final TicketTimeIndex timeIndex = new TicketTimeIndex();
+    private final TicketSearchIndex searchIndex; // Null when the search index is disabled
+    private final TicketViewCache views = new TicketViewCache();
+    private final TicketAuditLog auditLog;
+    private final TicketArchive archive;
+    private TextCodec textCodec; // Null until enough text has been stored to train it, guarded by this
+    private long untrainedTextChars; // Text stored since the last training attempt, guarded by this
+    private final List<Consumer<TicketEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final Map<Operation, LatencyRecorder> latencies = new EnumMap<>(Operation.class);
+
+    /**
+     * The store operations whose latencies are recorded.
+     */
+    public enum Operation {
+        LOAD, SAVE, UPDATE, DELETE
+    }
+
+    @FunctionalInterface
+    private interface StoreAction<T> {
+        T apply(List<TicketEvent> events) throws IOException;
+    }
 
     public TicketService() {
-        this.objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-        this.tickets = loadTicketsFromFile();
+        this(Paths.get(FILE_PATH));
     }
 
-    private List<Ticket> loadTicketsFromFile() {
-        File file = new File(FILE_PATH);
-        try {
-            if (!file.exists()) {
-                file.createNewFile();
-                return new ArrayList<>();
+    public TicketService(Path storePath) {
+        this(storePath, SHARD_SIZE);
+    }
+
+    /**
+     * Creates a service whose store is split into files of shardSize tickets each
+     * (see {@link TicketStoreFiles}), or kept in one file if shardSize is 0.
+     */
+    TicketService(Path storePath, int shardSize) {
+        this.storePath = storePath.toAbsolutePath().normalize();
+        this.files = new TicketStoreFiles(this.storePath, shardSize);
+        this.lockPath = this.storePath.resolveSibling(this.storePath.getFileName() + ".lock");
+        this.auditLog = new TicketAuditLog(this.storePath.resolveSibling(this.storePath.getFileName() + ".audit"));
+        this.storeMonitor = STORE_MONITORS.computeIfAbsent(this.storePath, path -> new Object());
+        this.columns = COLUMNAR_INDEX ? new TicketColumns() : null;
+        this.searchIndex = SEARCH_INDEX ? new TicketSearchIndex() : null;
+        this.archive = new TicketArchive(this.storePath.resolveSibling(this.storePath.getFileName() + ".archive"));
+        this.idSequence = new TicketIdSequence(this.storePath.resolveSibling(this.storePath.getFileName() + ".ids"));
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyRecorder());
+        }
+        long start = System.nanoTime();
+        this.tickets = PersistentVector.copyOf(loadTicketsFromFile());
+        trainTextCodec();
+        for (Ticket ticket : tickets) {
+            compact(ticket);
+            ticketsById.put(ticket.getId(), ticket);
+            aggregates.added(ticket);
+        }
+        reindexPositions();
+        timeIndex.rebuild(tickets);
+        if (searchIndex != null) {
+            searchIndex.rebuild(tickets);
+        }
+        if (columns != null) {
+            columns.rebuild(tickets);
+        }
+        if (!idSequence.exists()) {
+            seedIdSequence();
+        }
+        if (files.needsRewrite()) {
+            try {
+                withStoreLock(events -> {
+                    files.writeAll(tickets);
+                    return null;
+                });
+            } catch (IOException e) {
+                Logger.getLogger(getClass().getName()).log(Level.SEVERE,
+                        "Error splitting the ticket store into shards", e);
             }
-            String content = Files.readString(file.toPath());
-            if (content == null || content.trim().isEmpty()) {
-                return new ArrayList<>();
+        }
+        latencies.get(Operation.LOAD).recordSince(start);
+    }
+
+    /**
+     * Starts the ID sequence of a store that has none yet above every ID in use,
+     * live or archived.
+     */
+    private void seedIdSequence() {
+        try {
+            withStoreLock(events -> {
+                int max = archive.maxId();
+                for (Ticket ticket : tickets) {
+                    max = Math.max(max, TicketColumns.parseId(ticket.getId()));
+                }
+                idSequence.advanceTo(max);
+                return null;
+            });
+        } catch (IOException e) {
+            Logger.getLogger(getClass().getName()).log(Level.SEVERE,
+                    "Error recording the ticket ID sequence", e);
+        }
+    }
+
+    /**
+     * Registers a listener that is called after every successful create, update or delete,
+     * including changes merged from other instances sharing the store file.
+     * Listeners run on the thread that made or merged the change; wrap a UI listener
+     * in a {@link TicketEventBatcher} to receive events in batches on the UI thread.
+     */
+    public void addChangeListener(Consumer<TicketEvent> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(Consumer<TicketEvent> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the running counts and ages kept up to date on every mutation,
+     * for reporting and alerting without iterating all tickets.
+     */
+    public TicketAggregates getAggregates() {
+        return aggregates;
+    }
+
+    /**
+     * Returns the history of changes made through this service and any other instance
+     * sharing its store file.
+     */
+    public TicketAuditLog getAuditLog() {
+        return auditLog;
+    }
+
+    public LatencyRecorder getLatency(Operation operation) {
+        return latencies.get(operation);
+    }
+
+    /**
+     * Starts watching the store file, merging changes written by other instances
+     * as soon as they appear.
+     */
+    public synchronized void startWatching() {
+        if (watcher != null) {
+            return;
+        }
+        try {
+            watcher = new TicketStoreWatcher(files.directory(), files::isStoreFile, this::syncWithStore);
+        } catch (IOException e) {
+            Logger.getLogger(getClass().getName()).log(Level.WARNING,
+                    "Could not watch ticket store for external changes", e);
+        }
+    }
+
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+    }
+
+    /**
+     * Stops watching the store and waits for the audit log to write every change
+     * recorded so far. The service must not be changed afterwards.
+     */
+    @Override
+    public void close() {
+        stopWatching();
+        auditLog.close();
+    }
+
+    /**
+     * Merges any changes other instances wrote to the store file since this
+     * instance last read or wrote it. Only tickets whose version changed are re-bound.
+     */
+    public void syncWithStore() {
+        try {
+            withStoreLock(events -> null);
+        } catch (IOException e) {
+            Logger.getLogger(getClass().getName()).log(Level.SEVERE,
+                    "Error merging external ticket changes", e);
+        }
+    }
+
+    private void fireEvents(List<TicketEvent> events) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        for (TicketEvent event : events) {
+            for (Consumer<TicketEvent> listener : listeners) {
+                try {
+                    listener.accept(event);
+                } catch (RuntimeException e) {
+                    Logger.getLogger(getClass().getName()).log(Level.WARNING,
+                            "Ticket change listener failed", e);
+                }
             }
-            return objectMapper.readValue(file,
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, Ticket.class));
+        }
+    }
+
+    private List<Ticket> loadTicketsFromFile() {
+        try {
+            return files.load();
         } catch (IOException e) {
             Logger.getLogger(getClass().getName()).log(Level.SEVERE,
                     "Error reading tickets from file", e);
@@ -54,39 +288,314 @@ public class TicketService {
         }
     }
 
+    /**
+     * Returns the current snapshot of all tickets. The list is immutable and is not
+     * copied, so callers may keep it; later changes produce a new snapshot instead of
+     * modifying this one.
+     */
     public List<Ticket> getAllTickets() {
-        return new ArrayList<>(tickets);
+        return tickets;
     }
 
-    public void saveTicket(Ticket ticket) {
-        try {
-            validateTicket(ticket);
+    /**
+     * Returns the current snapshot of the ticket with the given ID, or null.
+     * Does not lock, so it never waits for a writer.
+     */
+    public Ticket getTicket(String id) {
+        return id != null ? ticketsById.get(id) : null;
+    }
 
-            // Set creation time for new ticket
-            if (ticket.getCreatedAt() == null) {
-                ticket.setCreatedAt(LocalDateTime.now());
-            }
+    /**
+     * Returns the tickets matching the query from the current snapshot.
+     *
+     * A query with a creation or update time range reads its candidates from the time
+     * index, and the results come oldest first. Other queries use the columnar index
+     * when it is enabled, otherwise they test each ticket, and the results are in
+     * store order. Text search and the scan without an index are split across worker
+     * threads when the store is large enough for that to pay off.
+     *
+     * Archived tickets are only searched, and the archive only loaded, when the query
+     * explicitly asks for a resolved or closed status. They follow the live results.
+     */
+    public List<Ticket> findTickets(TicketQuery query) {
+        List<Ticket> live = findLiveTickets(query);
+        if (!includesArchive(query)) {
+            return live;
+        }
+        List<Ticket> matches = new ArrayList<>(live);
+        matches.addAll(findArchivedTickets(query));
+        return matches;
+    }
 
-            // Generate new ID for new ticket
-            if (ticket.getId() == null || ticket.getId().isEmpty()) {
-                // Find the maximum numeric ID
-                int maxId = tickets.stream()
-                    .map(Ticket::getId)
-                    .filter(id -> id != null && !id.isEmpty())
-                    .mapToInt(id -> {
-                        try {
-                            return Integer.parseInt(id);
-                        } catch (NumberFormatException e) {
-                            return 0;
-                        }
-                    })
-                    .max()
-                    .orElse(0);
-                ticket.setId(String.valueOf(maxId + 1));
+    private List<Ticket> findLiveTickets(TicketQuery query) {
+        if (query.hasTimeRange()) {
+            // Candidates come from one index; any other range is checked by matches()
+            List<Ticket> candidates = query.getUpdatedFrom() != null || query.getUpdatedTo() != null
+                    ? timeIndex.updatedBetween(query.getUpdatedFrom(), query.getUpdatedTo())
+                    : timeIndex.createdBetween(query.getCreatedFrom(), query.getCreatedTo());
+            return executor.filter(candidates, query::matches);
+        }
+        if (columns == null) {
+            return executor.filter(tickets, query::matches);
+        }
+        List<Ticket> matches = columns.select(query);
+        return query.getText() != null ? executor.filter(matches, query::matchesText) : matches;
+    }
+
+    /**
+     * Returns the tickets matching the query in the given order. The sort is stable,
+     * so tickets that compare equal stay in store order.
+     */
+    public List<Ticket> findTickets(TicketQuery query, Comparator<? super Ticket> order) {
+        return sortTickets(findTickets(query), order);
+    }
+
+    /**
+     * Returns a sorted copy of the given tickets, sorting in parallel for large lists.
+     */
+    public List<Ticket> sortTickets(List<Ticket> tickets, Comparator<? super Ticket> order) {
+        return executor.sort(tickets, order);
+    }
+
+    private boolean includesArchive(TicketQuery query) {
+        return asksForClosed(query) && !archive.isEmpty();
+    }
+
+    private static boolean asksForClosed(TicketQuery query) {
+        for (Ticket.Status status : query.getStatuses()) {
+            if (!status.isOpen()) {
+                return true;
             }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the tickets in a saved view, in ticket ID order. The first call for a view
+     * runs its query; the results are then cached and kept current on every change, so
+     * later calls return the cached list (or, for a view with a date range, the part of
+     * it still inside the window).
+     */
+    public List<Ticket> findTickets(SavedView view) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Ticket> results = views.results(view, now);
+        return results != null ? results : compileView(view, now);
+    }
+
+    private synchronized List<Ticket> compileView(SavedView view, LocalDateTime now) {
+        List<Ticket> results = views.results(view, now);
+        if (results == null) {
+            TicketQuery query = view.toQuery(now);
+            views.compiled(view, query, asksForClosed(query), findTickets(query));
+            results = views.results(view, now);
+        }
+        return results;
+    }
+
+    private List<Ticket> findArchivedTickets(TicketQuery query) {
+        try {
+            return archive.find(query::matches);
+        } catch (IOException e) {
+            Logger.getLogger(getClass().getName()).log(Level.SEVERE,
+                    "Error reading archived tickets", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Returns the hit, miss and eviction counts of the cache of archive segments.
+     */
+    public BoundedCache.Stats getArchiveCacheStats() {
+        return archive.cacheStats();
+    }
+
+    /**
+     * Moves resolved and closed tickets with no activity for longer than
+     * tickettracking.archiveAfterDays into a new archive segment. Does nothing unless
+     * that property is set, and logs rather than throws if the archive cannot be written.
+     *
+     * @return the number of tickets archived
+     */
+    public int archiveOldTickets() {
+        if (ARCHIVE_AFTER_DAYS <= 0) {
+            return 0;
+        }
+        try {
+            return archiveTickets(Duration.ofDays(ARCHIVE_AFTER_DAYS));
+        } catch (RuntimeException e) {
+            Logger.getLogger(getClass().getName()).log(Level.SEVERE,
+                    "Error archiving old tickets; they stay in the live store", e);
+            return 0;
+        }
+    }
+
+    /**
+     * Moves resolved and closed tickets last updated (or, if never updated, created)
+     * longer ago than the given age out of the live store into a new compressed,
+     * read-only archive segment. Listeners receive an ARCHIVED event for each.
+     *
+     * @return the number of tickets archived
+     */
+    public int archiveTickets(Duration olderThan) {
+        try {
+            return withStoreLock(events -> {
+                LocalDateTime cutoff = LocalDateTime.now().minus(olderThan);
+                List<Ticket> archived = new ArrayList<>();
+                List<Ticket> remaining = new ArrayList<>(tickets.size());
+                for (Ticket ticket : tickets) {
+                    LocalDateTime lastActivity = ticket.getUpdatedAt() != null ? ticket.getUpdatedAt() : ticket.getCreatedAt();
+                    boolean done = ticket.getStatus() != null && !ticket.getStatus().isOpen();
+                    if (done && lastActivity != null && lastActivity.isBefore(cutoff)) {
+                        archived.add(ticket);
+                    } else {
+                        remaining.add(ticket);
+                    }
+                }
+                if (archived.isEmpty()) {
+                    return 0;
+                }
+                // Write the segment first: if saving the store then fails, the tickets
+                // are in both places rather than in neither
+                archive.write(archived);
+                PersistentVector<Ticket> next = PersistentVector.copyOf(remaining);
+                List<String> archivedIds = new ArrayList<>(archived.size());
+                for (Ticket ticket : archived) {
+                    archivedIds.add(ticket.getId());
+                }
+                files.write(next, archivedIds);
+                tickets = next;
+                reindexPositions();
+                if (columns != null) {
+                    columns.rebuild(next);
+                }
+                LocalDateTime archivedAt = LocalDateTime.now();
+                for (Ticket ticket : archived) {
+                    ticketsById.remove(ticket.getId());
+                    aggregates.removed(ticket.getId());
+                    timeIndex.removed(ticket.getId());
+                    unindexText(ticket.getId());
+                    auditLog.archived(ticket, archivedAt);
+                    events.add(new TicketEvent(TicketEvent.Type.ARCHIVED, ticket));
+                }
+                Logger.getLogger(getClass().getName()).info(
+                        "Archived " + archived.size() + " tickets older than " + cutoff);
+                return archived.size();
+            });
+        } catch (IOException e) {
+            Logger.getLogger(getClass().getName()).log(Level.SEVERE,
+                    "Error archiving tickets", e);
+            throw new RuntimeException("Failed to archive tickets", e);
+        }
+    }
+
+    /**
+     * Returns the tickets created at or after from and before to, oldest first,
+     * without scanning the rest of the store. Either bound may be null.
+     */
+    public List<Ticket> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return timeIndex.createdBetween(from, to);
+    }
+
+    /**
+     * Returns the tickets last updated at or after from and before to, least recently
+     * updated first. Reports can pass the time of their previous run as from to read
+     * only what changed since.
+     */
+    public List<Ticket> findUpdatedBetween(LocalDateTime from, LocalDateTime to) {
+        return timeIndex.updatedBetween(from, to);
+    }
+
+    public int countCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return timeIndex.countCreatedBetween(from, to);
+    }
+
+    public int countUpdatedBetween(LocalDateTime from, LocalDateTime to) {
+        return timeIndex.countUpdatedBetween(from, to);
+    }
+
+    /**
+     * Returns the tickets whose title, description, comments, ID, status or assignee
+     * match every word of the text, tolerating typos, best match first. Relevance
+     * weighs how closely and how often each word matches, and recent activity.
+     * Tickets must also match the filter; archived tickets are searched when the
+     * filter asks for a resolved or closed status, as in {@link #findTickets(TicketQuery)}.
+     * Blank text returns the filter's matches in store order.
+     */
+    public List<Ticket> searchTickets(String text, TicketQuery filter, int limit) {
+        if (TicketSearchIndex.terms(text).isEmpty()) {
+            List<Ticket> matches = findTickets(filter);
+            return matches.size() > limit ? matches.subList(0, limit) : matches;
+        }
+        List<Ticket> candidates = new ArrayList<>(searchIndex != null ? searchIndex.candidates(text) : tickets);
+        if (includesArchive(filter)) {
+            candidates.addAll(findArchivedTickets(filter));
+        }
+        return TicketSearchIndex.rank(candidates, text, filter::matches, limit, LocalDateTime.now());
+    }
+
+    public List<Ticket> searchTickets(String text) {
+        return searchTickets(text, new TicketQuery(), Integer.MAX_VALUE);
+    }
 
-            tickets.add(ticket);
-            saveAllTickets(tickets);
+    public int countTickets(TicketQuery query) {
+        if (columns != null && query.getText() == null && !includesArchive(query)) {
+            return columns.count(query);
+        }
+        return findTickets(query).size();
+    }
+
+    /**
+     * Stores a new ticket, assigning its ID, creation time and initial version
+     * on the given draft, and returns the frozen snapshot that was stored.
+     *
+     * @throws IllegalArgumentException if the ticket is invalid, or carries the ID of a
+     *         ticket already in the store
+     */
+    public Ticket saveTicket(Ticket newTicket) {
+        long start = System.nanoTime();
+        try {
+            validateTicket(newTicket);
+            Ticket ticket = newTicket.isFrozen() ? newTicket.copy() : newTicket;
+
+            Ticket stored = withStoreLock(events -> {
+                // Set creation time for new ticket
+                if (ticket.getCreatedAt() == null) {
+                    ticket.setCreatedAt(LocalDateTime.now());
+                }
+
+                // Generate new ID for new ticket
+                if (ticket.getId() == null || ticket.getId().isEmpty()) {
+                    ticket.setId(String.valueOf(idSequence.next()));
+                } else if (positions.containsKey(ticket.getId())) {
+                    throw new IllegalArgumentException("A ticket with ID " + ticket.getId()
+                            + " already exists; use updateTicket to change it");
+                } else {
+                    idSequence.advanceTo(TicketColumns.parseId(ticket.getId()));
+                }
+
+                ticket.setVersion(1);
+                Ticket snapshot = compact(ticket.snapshot());
+                PersistentVector<Ticket> next = tickets.plus(snapshot);
+                files.write(next, List.of(snapshot.getId()));
+                tickets = next;
+                if (columns != null) {
+                    columns.appended(next);
+                }
+                positions.put(snapshot.getId(), next.size() - 1);
+                ticketsById.put(snapshot.getId(), snapshot);
+                aggregates.added(snapshot);
+                timeIndex.updated(snapshot);
+                indexText(snapshot);
+                auditLog.created(snapshot);
+                events.add(new TicketEvent(TicketEvent.Type.CREATED, snapshot));
+                return snapshot;
+            });
+            latencies.get(Operation.SAVE).recordSince(start);
+            return stored;
+        } catch (IllegalArgumentException e) {
+            Logger.getLogger(getClass().getName()).log(Level.WARNING,
+                    "Invalid ticket not saved", e);
+            throw e;
         } catch (Exception e) {
             Logger.getLogger(getClass().getName()).log(Level.SEVERE,
                     "Error saving ticket", e);
@@ -94,22 +603,62 @@ public class TicketService {
         }
     }
 
-    public void updateTicket(Ticket editedTicket) {
+    /**
+     * Replaces the stored ticket with a snapshot of the edited one, provided the edited
+     * ticket was based on the current version (compare-and-set on the version).
+     * On success the version is incremented, on the edited draft as well, and the new
+     * snapshot is returned.
+     *
+     * @throws TicketConflictException if the ticket was changed since the caller read it
+     */
+    public Ticket updateTicket(Ticket editedTicket) {
+        long start = System.nanoTime();
         try {
             validateTicket(editedTicket);
             if (editedTicket.getId() == null) {
                 throw new IllegalArgumentException("Ticket ID cannot be null for update");
             }
 
-            for (int i = 0; i < tickets.size(); i++) {
-                if (tickets.get(i).getId().equals(editedTicket.getId())) {
-                    editedTicket.setUpdatedAt(LocalDateTime.now());
-                    tickets.set(i, editedTicket);
-                    saveAllTickets(tickets);
-                    return;
+            Ticket stored = withStoreLock(events -> {
+                Integer index = positions.get(editedTicket.getId());
+                if (index == null) {
+                    throw new RuntimeException("Ticket not found with ID: " + editedTicket.getId());
                 }
-            }
-            throw new RuntimeException("Ticket not found with ID: " + editedTicket.getId());
+                long currentVersion = tickets.get(index).getVersion();
+                if (editedTicket.getVersion() != currentVersion) {
+                    throw new TicketConflictException(editedTicket.getId(),
+                            editedTicket.getVersion(), currentVersion);
+                }
+                LocalDateTime now = LocalDateTime.now();
+                Ticket edited = editedTicket.copy();
+                edited.setUpdatedAt(now);
+                edited.setVersion(currentVersion + 1);
+                Ticket snapshot = compact(edited.snapshot());
+                Ticket previous = tickets.get(index);
+                PersistentVector<Ticket> next = tickets.with(index, snapshot);
+                files.write(next, List.of(snapshot.getId()));
+                tickets = next;
+                if (columns != null) {
+                    columns.replaced(index, next);
+                }
+                ticketsById.put(snapshot.getId(), snapshot);
+                aggregates.updated(snapshot);
+                timeIndex.updated(snapshot);
+                indexText(snapshot);
+                auditLog.updated(previous, snapshot);
+                events.add(new TicketEvent(TicketEvent.Type.UPDATED, snapshot));
+                if (!editedTicket.isFrozen()) {
+                    editedTicket.setUpdatedAt(now);
+                    editedTicket.setVersion(snapshot.getVersion());
+                }
+                return snapshot;
+            });
+            latencies.get(Operation.UPDATE).recordSince(start);
+            return stored;
+        } catch (IllegalArgumentException | TicketConflictException e) {
+            Logger.getLogger(getClass().getName()).log(Level.WARNING,
+                    "Ticket not updated", e);
+            throw e;
         } catch (Exception e) {
             Logger.getLogger(getClass().getName()).log(Level.SEVERE,
                     "Error updating ticket", e);
@@ -117,20 +666,63 @@ public class TicketService {
         }
     }
 
+    /**
+     * Applies the edit to a fresh copy of the current ticket and stores it, retrying
+     * with the latest version if another editor got in first.
+     *
+     * @throws TicketConflictException if the ticket kept changing on every attempt
+     */
+    public Ticket modifyTicket(String id, Consumer<Ticket> edit) {
+        TicketConflictException lastConflict = null;
+        for (int attempt = 0; attempt < MAX_MODIFY_ATTEMPTS; attempt++) {
+            Ticket current = getTicket(id);
+            if (current == null) {
+                throw new IllegalArgumentException("Ticket not found with ID: " + id);
+            }
+            Ticket draft = current.copy();
+            edit.accept(draft);
+            try {
+                return updateTicket(draft);
+            } catch (TicketConflictException e) {
+                lastConflict = e;
+            }
+        }
+        throw lastConflict;
+    }
+
     public void deleteTicket(Ticket ticket) {
+        long start = System.nanoTime();
         try {
             if (ticket == null || ticket.getId() == null) {
                 throw new IllegalArgumentException("Ticket or ticket ID cannot be null");
             }
 
-            boolean removed = tickets.removeIf(t ->
-                t.getId() != null && t.getId().equals(ticket.getId()));
-
-            if (removed) {
-                saveAllTickets(tickets);
-            } else {
-                throw new RuntimeException("Ticket not found with ID: " + ticket.getId());
-            }
+            withStoreLock(events -> {
+                Integer index = positions.get(ticket.getId());
+                if (index == null) {
+                    throw new RuntimeException("Ticket not found with ID: " + ticket.getId());
+                }
+                Ticket removed = tickets.get(index);
+                PersistentVector<Ticket> next = tickets.without(index);
+                files.write(next, List.of(removed.getId()));
+                tickets = next;
+                if (columns != null) {
+                    columns.removed(index, next);
+                }
+                reindexPositions();
+                ticketsById.remove(removed.getId());
+                aggregates.removed(removed.getId());
+                timeIndex.removed(removed.getId());
+                unindexText(removed.getId());
+                auditLog.deleted(removed, LocalDateTime.now());
+                events.add(new TicketEvent(TicketEvent.Type.DELETED, removed));
+                return removed;
+            });
+            latencies.get(Operation.DELETE).recordSince(start);
+        } catch (IllegalArgumentException e) {
+            Logger.getLogger(getClass().getName()).log(Level.WARNING,
+                    "Ticket not deleted", e);
+            throw e;
         } catch (Exception e) {
             Logger.getLogger(getClass().getName()).log(Level.SEVERE,
                     "Error deleting ticket", e);
@@ -152,9 +744,209 @@ public class TicketService {
             throw new IllegalArgumentException("Ticket priority is required");
         }
     }
-    
-    private void saveAllTickets(List<Ticket> tickets) throws IOException {
-        objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-        objectMapper.writeValue(new File(FILE_PATH), tickets);
+
+    /**
+     * Compresses the text of a snapshot that is about to be published, once a codec
+     * has been trained. The first time enough uncompressed text has accumulated, a
+     * codec is trained on the store and used for everything stored from then on.
+     */
+    private Ticket compact(Ticket snapshot) {
+        if (!COMPRESS_TEXT) {
+            return snapshot;
+        }
+        if (textCodec == null) {
+            untrainedTextChars += textLength(snapshot);
+            if (untrainedTextChars < MIN_TRAINING_CHARS) {
+                return snapshot;
+            }
+            trainTextCodec();
+            if (textCodec == null) {
+                return snapshot;
+            }
+        }
+        snapshot.compressText(textCodec);
+        return snapshot;
+    }
+
+    private void trainTextCodec() {
+        if (!COMPRESS_TEXT) {
+            return;
+        }
+        List<String> samples = new ArrayList<>();
+        long chars = 0;
+        for (Ticket ticket : tickets) {
+            chars += textLength(ticket);
+            samples.add(ticket.getDescription());
+            for (Comment comment : ticket.getComments()) {
+                samples.add(comment.getContent());
+            }
+        }
+        untrainedTextChars = 0;
+        if (chars >= MIN_TRAINING_CHARS) {
+            textCodec = TextCodec.train(samples);
+        }
+    }
+
+    private void indexText(Ticket snapshot) {
+        if (searchIndex != null) {
+            searchIndex.updated(snapshot);
+        }
+    }
+
+    private void unindexText(String id) {
+        if (searchIndex != null) {
+            searchIndex.removed(id);
+        }
+    }
+
+    private static long textLength(Ticket ticket) {
+        long length = ticket.getDescription() != null ? ticket.getDescription().length() : 0;
+        for (Comment comment : ticket.getComments()) {
+            length += comment.getContent() != null ? comment.getContent().length() : 0;
+        }
+        return length;
+    }
+
+    private void reindexPositions() {
+        positions.clear();
+        for (int i = 0; i < tickets.size(); i++) {
+            positions.put(tickets.get(i).getId(), i);
+        }
+    }
+
+    /**
+     * Runs the action while holding both the in-process and the cross-process store lock,
+     * after merging external changes. Events are fired once the locks are released,
+     * even if the action fails after changes were merged.
+     */
+    private <T> T withStoreLock(StoreAction<T> action) throws IOException {
+        List<TicketEvent> events = new ArrayList<>();
+        try {
+            synchronized (storeMonitor) {
+                try (FileChannel channel = FileChannel.open(lockPath,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                     FileLock ignored = channel.lock()) {
+                    synchronized (this) {
+                        try {
+                            mergeExternalChanges(events);
+                            return action.apply(events);
+                        } finally {
+                            // Under the same lock as compileView, so no view misses a change
+                            views.apply(events);
+                        }
+                    }
+                }
+            }
+        } finally {
+            fireEvents(events);
+        }
+    }
+
+    /**
+     * Applies the differences between the store files and the in-memory tickets. Only
+     * files that changed are read, and each is streamed one ticket at a time; tickets
+     * whose id and version are unchanged are skipped without being bound, so only
+     * external edits cost anything. Every changed file is read before anything is
+     * applied; one that cannot be read is set aside and treated as empty, as on load.
+     */
+    private void mergeExternalChanges(List<TicketEvent> events) throws IOException {
+        SortedMap<Integer, byte[]> changed = files.readChanged();
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Set<String> seen = new HashSet<>();
+        Map<String, Ticket> newer = new LinkedHashMap<>();
+        for (Map.Entry<Integer, byte[]> shard : changed.entrySet()) {
+            Set<String> shardIds = new HashSet<>();
+            Map<String, Ticket> shardNewer = new LinkedHashMap<>();
+            try {
+                readNewer(shard.getValue(), shardIds, shardNewer);
+            } catch (IOException e) {
+                files.setAside(shard.getKey(), e);
+                continue;
+            }
+            seen.addAll(shardIds);
+            newer.putAll(shardNewer);
+        }
+
+        PersistentVector<Ticket> merged = tickets;
+        int eventsBefore = events.size();
+        for (Ticket ticket : newer.values()) {
+            Integer index = positions.get(ticket.getId());
+            ticketsById.put(ticket.getId(), ticket);
+            timeIndex.updated(ticket);
+            indexText(ticket);
+            if (index == null) {
+                positions.put(ticket.getId(), merged.size());
+                merged = merged.plus(ticket);
+                aggregates.added(ticket);
+                events.add(new TicketEvent(TicketEvent.Type.CREATED, ticket));
+            } else {
+                merged = merged.with(index, ticket);
+                aggregates.updated(ticket);
+                events.add(new TicketEvent(TicketEvent.Type.UPDATED, ticket));
+            }
+        }
+
+        // A ticket missing from the file it belongs to was deleted; the others were not read
+        List<Ticket> remaining = new ArrayList<>(merged.size());
+        for (Ticket ticket : merged) {
+            if (seen.contains(ticket.getId()) || !changed.containsKey(files.shardOf(ticket.getId()))) {
+                remaining.add(ticket);
+            } else {
+                ticketsById.remove(ticket.getId());
+                aggregates.removed(ticket.getId());
+                timeIndex.removed(ticket.getId());
+                unindexText(ticket.getId());
+                events.add(new TicketEvent(TicketEvent.Type.DELETED, ticket));
+            }
+        }
+        if (remaining.size() < merged.size()) {
+            tickets = PersistentVector.copyOf(remaining);
+            reindexPositions();
+        } else {
+            tickets = merged;
+        }
+        if (columns != null && events.size() > eventsBefore) {
+            columns.rebuild(tickets);
+        }
+        for (int shard : changed.keySet()) {
+            files.merged(shard);
+        }
+    }
+
+    /**
+     * Streams one store file, adding the id of every ticket in it to ids and binding
+     * only the tickets newer than the in-memory ones into newer.
+     */
+    private void readNewer(byte[] content, Set<String> ids, Map<String, Ticket> newer) throws IOException {
+        if (TicketStoreFiles.isBlank(content)) {
+            return;
+        }
+        try (JsonParser parser = StoreJson.mapper().createParser(content)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Ticket store is not a JSON array: " + storePath);
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                JsonNode node = parser.readValueAsTree();
+                String id = node.path("id").asText(null);
+                if (id == null) {
+                    continue;
+                }
+                ids.add(id);
+                long version = node.path("version").asLong(0);
+                Integer index = positions.get(id);
+                Ticket previous = newer.get(id);
+                if ((index == null || version > tickets.get(index).getVersion())
+                        && (previous == null || version > previous.getVersion())) {
+                    newer.put(id, compact(StoreJson.ticketReader().<Ticket>readValue(node).snapshot()));
+                }
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new IOException("Ticket store is not a JSON array of tickets: " + storePath);
+            }
+        }
     }
 }
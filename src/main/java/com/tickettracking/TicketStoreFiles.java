@@ -0,0 +1,407 @@
+package com.tickettracking;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * The files holding a ticket store: the store file itself or, when a shard size is set,
+ * one file per range of ticket IDs in a "*.shards" directory next to it.
+ *
+ * With a shard size of N, shard k holds the tickets with numeric IDs k*N+1 to (k+1)*N;
+ * tickets with other IDs go to shard 0. New tickets take the next ID, so they land in
+ * the last shard, and reading the shards in order gives the store in ID order. A change
+ * rewrites only the shards of the tickets it touched, a load reads and binds the shards
+ * in parallel, and a file that cannot be parsed is moved aside as "*.corrupt-<time>" and
+ * read as empty, so the rest of the store stays usable.
+ *
+ * To find the files another instance changed, the size, modification time and file key
+ * of each file are compared with those seen when this instance last read or wrote it;
+ * only a file that differs, or was modified too close to that moment for its timestamp
+ * to tell two writes apart, is read and checksummed.
+ *
+ * Starting with shards on a single-file store, or with a different shard size, rewrites
+ * the store into the new layout; the single file is then renamed to "*.unsharded".
+ * Going back to a single file is not automatic.
+ *
+ * Not thread-safe; TicketService calls it under its store lock.
+ */
+final class TicketStoreFiles {
+    private static final String SHARD_PREFIX = "shard-";
+    private static final String SHARD_SUFFIX = ".json";
+    private static final Pattern SHARD_NAME = Pattern.compile(SHARD_PREFIX + "(\\d+)\\" + SHARD_SUFFIX);
+    // Coarsest modification time kept by a common file system (FAT)
+    private static final long TIMESTAMP_RESOLUTION_MILLIS = 2_000;
+
+    private final Path storePath;
+    private final Path shardDirectory; // Null for a single store file
+    private final int shardSize;
+    private final Map<Integer, Stamp> known = new HashMap<>(); // Shard -> file as last read or written
+    private final Map<Integer, Stamp> pending = new HashMap<>(); // Shard -> file as returned by readChanged
+    private boolean needsRewrite;
+
+    TicketStoreFiles(Path storePath, int shardSize) {
+        if (shardSize < 0) {
+            throw new IllegalArgumentException("Shard size cannot be negative: " + shardSize);
+        }
+        this.storePath = storePath;
+        this.shardSize = shardSize;
+        this.shardDirectory = shardSize > 0 ? storePath.resolveSibling(storePath.getFileName() + ".shards") : null;
+    }
+
+    /**
+     * Returns the directory to watch for changes, and whether a file in it belongs to the store.
+     */
+    Path directory() {
+        return shardDirectory != null ? shardDirectory : storePath.getParent();
+    }
+
+    boolean isStoreFile(Path fileName) {
+        return shardDirectory != null
+                ? SHARD_NAME.matcher(fileName.toString()).matches()
+                : storePath.getFileName().equals(fileName);
+    }
+
+    int shardOf(String id) {
+        if (shardDirectory == null) {
+            return 0;
+        }
+        int number = TicketColumns.parseId(id);
+        return number > 0 ? (number - 1) / shardSize : 0;
+    }
+
+    private Path path(int shard) {
+        return shardDirectory != null
+                ? shardDirectory.resolve(String.format("%s%05d%s", SHARD_PREFIX, shard, SHARD_SUFFIX))
+                : storePath;
+    }
+
+    /**
+     * Reads the whole store, shards in parallel, as frozen snapshots in shard order.
+     */
+    List<Ticket> load() throws IOException {
+        if (shardDirectory == null) {
+            if (!Files.exists(storePath)) {
+                Files.createDirectories(storePath.getParent());
+                Files.createFile(storePath);
+                return new ArrayList<>();
+            }
+            Shard shard = read(0, storePath);
+            known.put(0, shard.stamp);
+            return shard.tickets;
+        }
+
+        Files.createDirectories(shardDirectory);
+        List<Integer> existing = existingShards();
+        if (existing.isEmpty()) {
+            if (Files.exists(storePath)) {
+                // First start with shards: split the single store file up
+                needsRewrite = true;
+                return read(0, storePath).tickets;
+            }
+            return new ArrayList<>();
+        }
+        List<Shard> shards;
+        try {
+            shards = existing.parallelStream().map(this::readShard).toList();
+        } catch (ShardReadException e) {
+            throw (IOException) e.getCause();
+        }
+        List<Ticket> tickets = new ArrayList<>();
+        for (Shard shard : shards) {
+            known.put(shard.number, shard.stamp);
+            for (Ticket ticket : shard.tickets) {
+                if (shardOf(ticket.getId()) != shard.number) {
+                    needsRewrite = true; // Written with a different shard size
+                }
+            }
+            tickets.addAll(shard.tickets);
+        }
+        return tickets;
+    }
+
+    /**
+     * Returns true if the loaded store should be written back with {@link #writeAll}
+     * to move it into the current layout.
+     */
+    boolean needsRewrite() {
+        return needsRewrite;
+    }
+
+    private Shard readShard(int number) {
+        try {
+            return read(number, path(number));
+        } catch (IOException e) {
+            throw new ShardReadException(e);
+        }
+    }
+
+    private Shard read(int number, Path file) throws IOException {
+        // Attributes before content: if the file is replaced in between, the next check reads it again
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        byte[] content = Files.readAllBytes(file);
+        if (isBlank(content)) {
+            return new Shard(number, new Stamp(attributes, content), new ArrayList<>());
+        }
+        try {
+            List<Ticket> tickets = StoreJson.ticketListReader().readValue(content);
+            tickets.replaceAll(Ticket::snapshot);
+            return new Shard(number, new Stamp(attributes, content), tickets);
+        } catch (IOException e) {
+            moveAside(file, e);
+            return new Shard(number, Stamp.MISSING, new ArrayList<>());
+        }
+    }
+
+    private void moveAside(Path file, IOException cause) throws IOException {
+        // Keep the damaged file for recovery instead of overwriting it on the next save
+        Path aside = file.resolveSibling(file.getFileName() + ".corrupt-" + System.currentTimeMillis());
+        Files.move(file, aside);
+        Logger.getLogger(getClass().getName()).log(Level.SEVERE,
+                "Could not read " + file + ", moved it to " + aside + " and continued without its tickets", cause);
+    }
+
+    /**
+     * Returns the content of each store file that changed since this instance last read
+     * or wrote it, by shard. A shard file that was deleted is returned as empty content;
+     * a missing single store file is left out.
+     */
+    SortedMap<Integer, byte[]> readChanged() throws IOException {
+        Set<Integer> shards = new TreeSet<>(known.keySet());
+        shards.addAll(existingShards());
+        SortedMap<Integer, byte[]> changed = new TreeMap<>();
+        pending.clear();
+        for (int shard : shards) {
+            Path file = path(shard);
+            Stamp stamp = known.get(shard);
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                if (shardDirectory != null && stamp != null && stamp != Stamp.MISSING) {
+                    // Deleted by another instance, as when it rewrote the store with fewer shards
+                    changed.put(shard, new byte[0]);
+                    pending.put(shard, Stamp.MISSING);
+                }
+                continue;
+            }
+            if (stamp != null && stamp.matches(attributes)) {
+                continue;
+            }
+            byte[] content = Files.readAllBytes(file);
+            Stamp current = new Stamp(attributes, content);
+            if (stamp != null && stamp != Stamp.MISSING && stamp.checksum == current.checksum) {
+                known.put(shard, current); // Touched, or written too recently to trust, but unchanged
+            } else {
+                changed.put(shard, content);
+                pending.put(shard, current);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Moves aside a file returned by {@link #readChanged()} that could not be parsed, as
+     * a load does, so the caller can go on as if it were empty.
+     */
+    void setAside(int shard, IOException cause) throws IOException {
+        moveAside(path(shard), cause);
+        pending.put(shard, Stamp.MISSING);
+    }
+
+    /**
+     * Records a file returned by {@link #readChanged()} as merged.
+     */
+    void merged(int shard) {
+        Stamp stamp = pending.remove(shard);
+        if (stamp != null) {
+            known.put(shard, stamp);
+        }
+    }
+
+    /**
+     * Writes the files holding the given tickets after a change to the tickets with
+     * the given IDs: the store file, or just the shards of those IDs.
+     */
+    void write(List<Ticket> tickets, Collection<String> changedIds) throws IOException {
+        if (shardDirectory == null) {
+            writeFile(0, tickets);
+            return;
+        }
+        Set<Integer> shards = new TreeSet<>();
+        for (String id : changedIds) {
+            shards.add(shardOf(id));
+        }
+        writeShards(tickets, shards);
+    }
+
+    /**
+     * Writes every shard and removes shard files no ticket belongs to any more, then
+     * renames a single store file that was split up.
+     */
+    void writeAll(List<Ticket> tickets) throws IOException {
+        if (shardDirectory == null) {
+            writeFile(0, tickets);
+            return;
+        }
+        Set<Integer> shards = new TreeSet<>();
+        for (Ticket ticket : tickets) {
+            shards.add(shardOf(ticket.getId()));
+        }
+        writeShards(tickets, shards);
+        for (int shard : existingShards()) {
+            if (!shards.contains(shard)) {
+                Files.delete(path(shard));
+                known.remove(shard);
+            }
+        }
+        if (Files.exists(storePath)) {
+            Files.move(storePath, storePath.resolveSibling(storePath.getFileName() + ".unsharded"),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        needsRewrite = false;
+    }
+
+    private void writeShards(List<Ticket> tickets, Set<Integer> shards) throws IOException {
+        Map<Integer, List<Ticket>> contents = new TreeMap<>();
+        for (int shard : shards) {
+            contents.put(shard, new ArrayList<>());
+        }
+        for (Ticket ticket : tickets) {
+            List<Ticket> shard = contents.get(shardOf(ticket.getId()));
+            if (shard != null) {
+                shard.add(ticket);
+            }
+        }
+        Files.createDirectories(shardDirectory);
+        for (Map.Entry<Integer, List<Ticket>> shard : contents.entrySet()) {
+            writeFile(shard.getKey(), shard.getValue());
+        }
+    }
+
+    private void writeFile(int shard, List<Ticket> tickets) throws IOException {
+        Path file = path(shard);
+        byte[] content = StoreJson.ticketListWriter().writeValueAsBytes(tickets);
+
+        // Write to a temporary file and move it into place so readers never see a partial file
+        Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempFile, content);
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        known.put(shard, new Stamp(Files.readAttributes(file, BasicFileAttributes.class), content));
+    }
+
+    private List<Integer> existingShards() throws IOException {
+        if (shardDirectory == null) {
+            return List.of(0);
+        }
+        if (!Files.isDirectory(shardDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(shardDirectory)) {
+            return files.map(file -> SHARD_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(name -> Integer.parseInt(name.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static long checksum(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+    static boolean isBlank(byte[] content) {
+        for (byte b : content) {
+            if (!Character.isWhitespace(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Shard {
+        private final int number;
+        private final Stamp stamp;
+        private final List<Ticket> tickets;
+
+        private Shard(int number, Stamp stamp, List<Ticket> tickets) {
+            this.number = number;
+            this.stamp = stamp;
+            this.tickets = tickets;
+        }
+    }
+
+    // A store file as this instance last saw it
+    private static final class Stamp {
+        private static final Stamp MISSING = new Stamp(-1, 0, null, 0, 0);
+
+        private final long size;
+        private final long modified;
+        private final Object fileKey; // Null where the file system has none
+        private final long checksum;
+        private final long taken;
+
+        private Stamp(BasicFileAttributes attributes, byte[] content) {
+            this(attributes.size(), attributes.lastModifiedTime().toMillis(), attributes.fileKey(),
+                    checksum(content), System.currentTimeMillis());
+        }
+
+        private Stamp(long size, long modified, Object fileKey, long checksum, long taken) {
+            this.size = size;
+            this.modified = modified;
+            this.fileKey = fileKey;
+            this.checksum = checksum;
+            this.taken = taken;
+        }
+
+        /**
+         * Returns true if the file cannot have changed since the stamp was taken. A file
+         * modified within the timestamp resolution of that moment could have been written
+         * again with the same size and time, so it never matches.
+         */
+        boolean matches(BasicFileAttributes attributes) {
+            return this != MISSING
+                    && attributes.size() == size
+                    && attributes.lastModifiedTime().toMillis() == modified
+                    && Objects.equals(attributes.fileKey(), fileKey)
+                    && modified < taken - TIMESTAMP_RESOLUTION_MILLIS;
+        }
+    }
+
+    // Carries an I/O failure out of the parallel load
+    private static final class ShardReadException extends RuntimeException {
+        private ShardReadException(IOException cause) {
+            super(cause);
+        }
+    }
+}
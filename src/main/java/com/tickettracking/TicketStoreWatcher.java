@@ -0,0 +1,90 @@
+package com.tickettracking;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches the directory of a ticket store file, or of its shard files, and runs a
+ * callback when a store file changes on disk. Bursts of events (such as a write followed by a rename) are
+ * collapsed into a single callback after a short settling delay.
+ */
+class TicketStoreWatcher implements AutoCloseable {
+    private static final long SETTLE_MILLIS = 100;
+
+    private final Predicate<Path> isStoreFile; // Tested on file names
+    private final Runnable onChange;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    TicketStoreWatcher(Path file, Runnable onChange) throws IOException {
+        this(file.getParent(), file.getFileName()::equals, onChange);
+    }
+
+    TicketStoreWatcher(Path directory, Predicate<Path> isStoreFile, Runnable onChange) throws IOException {
+        this.isStoreFile = isStoreFile;
+        this.onChange = onChange;
+        this.watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::run, "ticket-store-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean relevant = isRelevant(key);
+                key.reset();
+                if (!relevant) {
+                    continue;
+                }
+                Thread.sleep(SETTLE_MILLIS);
+                WatchKey more;
+                while ((more = watchService.poll()) != null) {
+                    more.pollEvents();
+                    more.reset();
+                }
+                try {
+                    onChange.run();
+                } catch (RuntimeException e) {
+                    Logger.getLogger(getClass().getName()).log(Level.WARNING,
+                            "Error handling ticket store change", e);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watcher closed
+        }
+    }
+
+    private boolean isRelevant(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || event.context() instanceof Path name && isStoreFile.test(name)) {
+                relevant = true;
+            }
+        }
+        return relevant;
+    }
+
+    @Override
+    public void close() {
+        thread.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            Logger.getLogger(getClass().getName()).log(Level.FINE,
+                    "Error closing ticket store watcher", e);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.tickettracking;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Indexes of the ticket store ordered by creation time and by last update time,
+ * maintained by TicketService on every mutation.
+ *
+ * Each index is a skip list keyed by (time, ticket ID), so a range such as "the last
+ * 24 hours" is found in logarithmic time and read without touching tickets outside
+ * it. Readers never lock; a range read while a ticket is being moved may see the
+ * ticket at either its old or its new time. Tickets without a time are not indexed.
+ *
+ * As in TicketAggregates, the indexed times of each ticket are remembered so that an
+ * update can be applied as "remove old keys, add new keys".
+ *
+ * Each index also keeps a running count of its tickets per minute, so counting a range
+ * (which the dashboard does on every frame) adds up at most one count per minute and
+ * walks only the tickets in the partial minutes at either end.
+ */
+final class TicketTimeIndex {
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private final Ordering byCreatedAt = new Ordering();
+    private final Ordering byUpdatedAt = new Ordering();
+    private final Map<String, Key[]> keys = new HashMap<>(); // Ticket ID -> {created, updated}, guarded by this
+
+    /**
+     * Records a ticket that was just created, loaded or changed.
+     */
+    synchronized void updated(Ticket ticket) {
+        removed(ticket.getId());
+        Key created = key(ticket.packedCreatedAt(), ticket.getId());
+        Key updated = key(ticket.packedUpdatedAt(), ticket.getId());
+        if (created != null) {
+            byCreatedAt.put(created, ticket);
+        }
+        if (updated != null) {
+            byUpdatedAt.put(updated, ticket);
+        }
+        keys.put(ticket.getId(), new Key[] {created, updated});
+    }
+
+    synchronized void removed(String id) {
+        Key[] previous = keys.remove(id);
+        if (previous == null) {
+            return;
+        }
+        if (previous[0] != null) {
+            byCreatedAt.remove(previous[0]);
+        }
+        if (previous[1] != null) {
+            byUpdatedAt.remove(previous[1]);
+        }
+    }
+
+    synchronized void rebuild(List<Ticket> tickets) {
+        byCreatedAt.clear();
+        byUpdatedAt.clear();
+        keys.clear();
+        for (Ticket ticket : tickets) {
+            updated(ticket);
+        }
+    }
+
+    /**
+     * Returns the tickets created at or after from and before to, oldest first.
+     * Either bound may be null to leave that side open.
+     */
+    List<Ticket> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return new ArrayList<>(range(byCreatedAt.tickets, from, to).values());
+    }
+
+    List<Ticket> updatedBetween(LocalDateTime from, LocalDateTime to) {
+        return new ArrayList<>(range(byUpdatedAt.tickets, from, to).values());
+    }
+
+    int countCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return byCreatedAt.count(from, to);
+    }
+
+    int countUpdatedBetween(LocalDateTime from, LocalDateTime to) {
+        return byUpdatedAt.count(from, to);
+    }
+
+    private static NavigableMap<Key, Ticket> range(NavigableMap<Key, Ticket> index, LocalDateTime from, LocalDateTime to) {
+        // IDs sort after the empty string, so (t, "") is below every key at time t
+        if (from != null && to != null) {
+            if (!from.isBefore(to)) {
+                return Collections.emptyNavigableMap();
+            }
+            return index.subMap(new Key(CompactTime.encode(from), ""), true, new Key(CompactTime.encode(to), ""), false);
+        }
+        if (from != null) {
+            return index.tailMap(new Key(CompactTime.encode(from), ""), true);
+        }
+        if (to != null) {
+            return index.headMap(new Key(CompactTime.encode(to), ""), false);
+        }
+        return index;
+    }
+
+    private static Key key(long time, String id) {
+        return time != CompactTime.NONE && id != null ? new Key(time, id) : null;
+    }
+
+    // Tickets in (time, ID) order, with the number of tickets per minute. Changed only
+    // under the index's lock; a count taken while a ticket moves may be off by one.
+    private static final class Ordering {
+        private final NavigableMap<Key, Ticket> tickets = new ConcurrentSkipListMap<>();
+        private final NavigableMap<Long, Integer> perMinute = new ConcurrentSkipListMap<>();
+
+        void put(Key key, Ticket ticket) {
+            if (tickets.put(key, ticket) == null) {
+                perMinute.merge(Math.floorDiv(key.time, NANOS_PER_MINUTE), 1, Integer::sum);
+            }
+        }
+
+        void remove(Key key) {
+            if (tickets.remove(key) != null) {
+                perMinute.computeIfPresent(Math.floorDiv(key.time, NANOS_PER_MINUTE),
+                        (minute, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+
+        void clear() {
+            tickets.clear();
+            perMinute.clear();
+        }
+
+        int count(LocalDateTime from, LocalDateTime to) {
+            long start = from != null ? CompactTime.encode(from) : Long.MIN_VALUE;
+            long end = to != null ? CompactTime.encode(to) : Long.MAX_VALUE;
+            if (start >= end) {
+                return 0;
+            }
+            // Whole minutes from the running counts, the partial ones at either end ticket by ticket
+            long firstMinute = Math.ceilDiv(start, NANOS_PER_MINUTE);
+            long endMinute = Math.floorDiv(end, NANOS_PER_MINUTE);
+            if (firstMinute >= endMinute) {
+                return countTickets(start, end);
+            }
+            int count = countTickets(start, firstMinute * NANOS_PER_MINUTE)
+                    + countTickets(endMinute * NANOS_PER_MINUTE, end);
+            for (int minuteCount : perMinute.subMap(firstMinute, true, endMinute, false).values()) {
+                count += minuteCount;
+            }
+            return count;
+        }
+
+        private int countTickets(long start, long end) {
+            return start < end ? tickets.subMap(new Key(start, ""), true, new Key(end, ""), false).size() : 0;
+        }
+    }
+
+    private static final class Key implements Comparable<Key> {
+        private final long time;
+        private final String id;
+
+        private Key(long time, String id) {
+            this.time = time;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byTime = Long.compare(time, other.time);
+            return byTime != 0 ? byTime : id.compareTo(other.id);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.tickettracking;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The results of saved views, maintained by TicketService on every mutation.
+ *
+ * A view is compiled on first use: its query is run once through the store's indexes
+ * (the time index for a date range, the columnar index otherwise, and the archive when
+ * it asks for resolved or closed tickets) and the results are kept in ticket ID order.
+ * From then on each change event is tested against the compiled query alone, and the
+ * ticket is added, replaced or dropped, so a view costs one matches() call per change
+ * and reading it returns a cached list.
+ *
+ * A date range is compiled with the start it had at that time. Starts only move forward,
+ * so as time passes tickets can only leave the window: reads drop them by checking the
+ * creation time against the current start, and new tickets enter through their events.
+ */
+final class TicketViewCache {
+    private static final Comparator<String> BY_ID =
+            Comparator.comparingInt(TicketColumns::parseId).thenComparing(Comparator.naturalOrder());
+
+    private final Map<String, Plan> plans = new HashMap<>(); // View name -> plan
+
+    /**
+     * Returns the current results of the view, or null if it has not been compiled
+     * (or a different view of the same name was compiled).
+     */
+    synchronized List<Ticket> results(SavedView view, LocalDateTime now) {
+        Plan plan = plans.get(view.getName());
+        if (plan == null || plan.view != view) {
+            return null;
+        }
+        if (plan.snapshot == null) {
+            plan.snapshot = Collections.unmodifiableList(new ArrayList<>(plan.results.values()));
+        }
+        if (view.getCreatedRange() == null) {
+            return plan.snapshot;
+        }
+        long start = CompactTime.encode(view.getCreatedRange().start(now));
+        List<Ticket> window = new ArrayList<>(plan.snapshot.size());
+        for (Ticket ticket : plan.snapshot) {
+            if (ticket.packedCreatedAt() >= start) {
+                window.add(ticket);
+            }
+        }
+        return Collections.unmodifiableList(window);
+    }
+
+    /**
+     * Caches the results of a view's compiled query, replacing any plan of the same name.
+     */
+    synchronized void compiled(SavedView view, TicketQuery query, boolean includesArchive, List<Ticket> results) {
+        Plan plan = new Plan(view, query, includesArchive);
+        for (Ticket ticket : results) {
+            plan.results.put(ticket.getId(), ticket);
+        }
+        plans.put(view.getName(), plan);
+    }
+
+    synchronized void apply(List<TicketEvent> events) {
+        for (Plan plan : plans.values()) {
+            for (TicketEvent event : events) {
+                plan.apply(event);
+            }
+        }
+    }
+
+    private static final class Plan {
+        private final SavedView view;
+        private final TicketQuery query;
+        private final boolean includesArchive;
+        private final TreeMap<String, Ticket> results = new TreeMap<>(BY_ID);
+        private List<Ticket> snapshot; // Published copy of results, null after a change
+
+        private Plan(SavedView view, TicketQuery query, boolean includesArchive) {
+            this.view = view;
+            this.query = query;
+            this.includesArchive = includesArchive;
+        }
+
+        void apply(TicketEvent event) {
+            Ticket ticket = event.getTicket();
+            boolean keep;
+            switch (event.getType()) {
+                case DELETED:
+                    keep = false;
+                    break;
+                case ARCHIVED:
+                    keep = includesArchive && query.matches(ticket);
+                    break;
+                default:
+                    keep = query.matches(ticket);
+            }
+            Ticket previous = keep ? results.put(ticket.getId(), ticket) : results.remove(ticket.getId());
+            if (keep || previous != null) {
+                snapshot = null;
+            }
+        }
+    }
+}
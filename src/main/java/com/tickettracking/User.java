@@ -2,13 +2,14 @@ package com.tickettracking;
 
 /**
  * Represents a user in the system.
- * A user has attributes such as ID, username, password, and role.
+ * A user has attributes such as ID, username, password hash, and role.
  * The role determines the level of access a user has in the system.
+ * Passwords are never stored in plain text; see PasswordHasher.
  */
 public class User {
     private String id;
     private String username;
-    private String password;
+    private String passwordHash;
     private Role role;
 
     public enum Role {
@@ -17,20 +18,27 @@ public class User {
 
     public User() {}
 
-    public User(String username, String password, Role role) {
+    private User(String username, String passwordHash, Role role) {
         this.username = username;
-        this.password = password;
+        this.passwordHash = passwordHash;
         this.role = role;
     }
 
+    /**
+     * Creates a user from a hash made by PasswordHasher, never from a plain password.
+     */
+    public static User withPasswordHash(String username, String passwordHash, Role role) {
+        return new User(username, passwordHash, role);
+    }
+
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
 
     public String getUsername() { return username; }
     public void setUsername(String username) { this.username = username; }
 
-    public String getPassword() { return password; }
-    public void setPassword(String password) { this.password = password; }
+    public String getPasswordHash() { return passwordHash; }
+    public void setPasswordHash(String passwordHash) { this.passwordHash = passwordHash; }
 
     public Role getRole() { return role; }
     public void setRole(Role role) { this.role = role; }
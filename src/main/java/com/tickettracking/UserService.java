@@ -1,38 +1,129 @@
 package com.tickettracking;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Provides services for managing users in the system.
  * This class supports operations such as retrieving all users, finding a user by username,
- * managing the current logged-in user, and initializing default users.
+ * authenticating users, managing the current logged-in user, and initializing default users.
+ *
+ * Users are persisted in a JSON file and indexed by lower-cased username, so lookups
+ * are O(1) and case-insensitive regardless of directory size. Passwords are stored as
+ * salted PBKDF2 hashes whose cost is set by the PasswordHasher.
+ *
+ * The username list is cached and only rebuilt after users are added or removed, and a
+ * prefix trie backs assignee typeahead. Change listeners are notified after either
+ * kind of change so views can refresh.
+ *
+ * Safe for concurrent use: the directory is read and changed under the service's lock,
+ * while password hashing runs outside it.
  */
 public class UserService {
-    private List<User> users;
+    private static final String FILE_PATH = "src/main/resources/users/users.json";
+
+    private final Path storePath;
+    private final PasswordHasher passwordHasher;
+    private final Map<String, User> usersByName = new LinkedHashMap<>(); // Lower-cased username -> user
+    private final UsernameTrie usernameIndex = new UsernameTrie();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private volatile List<String> usernames; // Cached; null after the directory changes
+    private int lastUserId; // Highest numeric user ID issued, so removed users' IDs are not reused
     private User currentUser;
 
     public UserService() {
-        this.users = new ArrayList<>();
-        initializeDefaultUsers();
+        this(Paths.get(FILE_PATH));
     }
 
-    private void initializeDefaultUsers() {
-        users.add(new User("admin", "admin", User.Role.ADMIN));
-        users.add(new User("support1", "support1", User.Role.SUPPORT_STAFF));
-        users.add(new User("support2", "support2", User.Role.SUPPORT_STAFF));
-        users.add(new User("customer1", "customer1", User.Role.CUSTOMER));
-        
+    public UserService(Path storePath) {
+        this(storePath, new PasswordHasher());
+    }
+
+    public UserService(Path storePath, PasswordHasher passwordHasher) {
+        this.storePath = storePath;
+        this.passwordHasher = passwordHasher;
+        loadUsers();
+        if (usersByName.isEmpty()) {
+            initializeDefaultUsers();
+        }
+
         // Set default current user
-        currentUser = users.get(1); // support1
+        currentUser = findUserByUsername("support1");
+        if (currentUser == null && !usersByName.isEmpty()) {
+            currentUser = usersByName.values().iterator().next();
+        }
+    }
+
+    private void loadUsers() {
+        if (!Files.exists(storePath)) {
+            return;
+        }
+        try {
+            List<User> loaded = StoreJson.userListReader().readValue(storePath.toFile());
+            for (User user : loaded) {
+                usersByName.put(key(user.getUsername()), user);
+                usernameIndex.add(user.getUsername());
+                lastUserId = Math.max(lastUserId, numericId(user));
+            }
+        } catch (IOException e) {
+            Logger.getLogger(getClass().getName()).log(Level.SEVERE,
+                    "Error reading users from file", e);
+        }
+    }
+
+    private void initializeDefaultUsers() {
+        addUser("admin", "admin".toCharArray(), User.Role.ADMIN);
+        addUser("support1", "support1".toCharArray(), User.Role.SUPPORT_STAFF);
+        addUser("support2", "support2".toCharArray(), User.Role.SUPPORT_STAFF);
+        addUser("customer1", "customer1".toCharArray(), User.Role.CUSTOMER);
     }
 
-    public List<User> getAllUsers() {
-        return new ArrayList<>(users);
+    public synchronized List<User> getAllUsers() {
+        return new ArrayList<>(usersByName.values());
     }
 
+    /**
+     * Returns the usernames in directory order. The list is unmodifiable and shared
+     * between callers until the next time a user is added or removed.
+     */
     public List<String> getUsernames() {
-        return users.stream().map(User::getUsername).toList();
+        List<String> cached = usernames;
+        if (cached == null) {
+            synchronized (this) {
+                cached = usersByName.values().stream().map(User::getUsername).toList();
+                usernames = cached;
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Returns up to limit usernames starting with the given prefix, ignoring case,
+     * in alphabetical order.
+     */
+    public synchronized List<String> findUsernamesByPrefix(String prefix, int limit) {
+        return usernameIndex.complete(prefix, limit);
+    }
+
+    /**
+     * Registers a listener that is called after a user is added or removed.
+     */
+    public void addChangeListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(Runnable listener) {
+        listeners.remove(listener);
     }
 
     public User getCurrentUser() {
@@ -43,10 +134,126 @@ public class UserService {
         this.currentUser = user;
     }
 
-    public User findUserByUsername(String username) {
-        return users.stream()
-                .filter(user -> user.getUsername().equals(username))
-                .findFirst()
-                .orElse(null);
+    /**
+     * Finds a user by username, ignoring case. Returns null if there is no such user.
+     */
+    public synchronized User findUserByUsername(String username) {
+        return username != null ? usersByName.get(key(username)) : null;
+    }
+
+    /**
+     * Creates a user with a freshly salted password hash and saves the user store.
+     *
+     * @throws IllegalArgumentException if the username is blank or already taken
+     */
+    public User addUser(String username, char[] password, User.Role role) {
+        if (username == null || username.trim().isEmpty()) {
+            throw new IllegalArgumentException("Username is required");
+        }
+        // Hashing is deliberately slow, so it runs before taking the lock
+        String passwordHash = passwordHasher.hash(password);
+        User user;
+        synchronized (this) {
+            user = addUserLocked(username, passwordHash, role);
+        }
+        fireChanged();
+        return user;
+    }
+
+    private User addUserLocked(String username, String passwordHash, User.Role role) {
+        if (usersByName.containsKey(key(username))) {
+            throw new IllegalArgumentException("Username already exists: " + username);
+        }
+        User user = User.withPasswordHash(username.trim(), passwordHash, role);
+        user.setId(String.valueOf(++lastUserId));
+        usersByName.put(key(username), user);
+        usernameIndex.add(user.getUsername());
+        usernames = null;
+        saveUsers();
+        return user;
+    }
+
+    public boolean removeUser(String username) {
+        synchronized (this) {
+            User removed = username != null ? usersByName.remove(key(username)) : null;
+            if (removed == null) {
+                return false;
+            }
+            usernameIndex.remove(removed.getUsername());
+            usernames = null;
+            if (removed == currentUser) {
+                currentUser = null;
+            }
+            saveUsers();
+        }
+        fireChanged();
+        return true;
+    }
+
+    /**
+     * Returns the user if the password matches, otherwise null. Hashes made with a
+     * different cost than the current PasswordHasher are upgraded on successful login.
+     */
+    public User authenticate(String username, char[] password) {
+        User user;
+        String hash;
+        synchronized (this) {
+            user = findUserByUsername(username);
+            if (user == null) {
+                return null;
+            }
+            hash = user.getPasswordHash();
+        }
+        // Hashing is deliberately slow, so it runs without holding the lock
+        if (!passwordHasher.verify(password, hash)) {
+            return null;
+        }
+        if (passwordHasher.needsRehash(hash)) {
+            String rehashed = passwordHasher.hash(password);
+            synchronized (this) {
+                // Skip if the password was changed, or already upgraded, meanwhile
+                if (hash.equals(user.getPasswordHash())) {
+                    user.setPasswordHash(rehashed);
+                    saveUsers();
+                }
+            }
+        }
+        return user;
+    }
+
+    private void saveUsers() {
+        try {
+            Path parent = storePath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            StoreJson.userListWriter().writeValue(storePath.toFile(), new ArrayList<>(usersByName.values()));
+        } catch (IOException e) {
+            Logger.getLogger(getClass().getName()).log(Level.SEVERE,
+                    "Error saving users to file", e);
+        }
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                Logger.getLogger(getClass().getName()).log(Level.WARNING,
+                        "User change listener failed", e);
+            }
+        }
+    }
+
+    private static int numericId(User user) {
+        try {
+            return Integer.parseInt(user.getId());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String key(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
     }
-}
\ No newline at end of file
+}
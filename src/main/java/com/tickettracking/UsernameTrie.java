@@ -0,0 +1,107 @@
+package com.tickettracking;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A prefix tree of usernames used for assignee typeahead.
+ * Keys are matched case-insensitively, and completions are returned in alphabetical
+ * order with their original casing. Finding the first N completions of a prefix costs
+ * O(prefix length + N) node visits, independent of how many usernames are stored.
+ *
+ * Not thread-safe; UserService guards access to it.
+ */
+public class UsernameTrie {
+    private final Node root = new Node();
+    private int size;
+
+    private static final class Node {
+        private final Map<Character, Node> children = new TreeMap<>();
+        private String username; // Set when a username ends at this node
+    }
+
+    /**
+     * Adds a username, replacing any existing entry that differs only in case.
+     */
+    public void add(String username) {
+        Node node = root;
+        for (char c : key(username).toCharArray()) {
+            node = node.children.computeIfAbsent(c, k -> new Node());
+        }
+        if (node.username == null) {
+            size++;
+        }
+        node.username = username;
+    }
+
+    public boolean remove(String username) {
+        String key = key(username);
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        for (char c : key.toCharArray()) {
+            path.push(node);
+            node = node.children.get(c);
+            if (node == null) {
+                return false;
+            }
+        }
+        if (node.username == null) {
+            return false;
+        }
+        node.username = null;
+        size--;
+
+        // Prune nodes that no longer lead to any username
+        for (int i = key.length() - 1; i >= 0 && node.username == null && node.children.isEmpty(); i--) {
+            Node parent = path.pop();
+            parent.children.remove(key.charAt(i));
+            node = parent;
+        }
+        return true;
+    }
+
+    /**
+     * Returns up to limit usernames starting with the given prefix, in alphabetical order.
+     * An empty prefix matches every username.
+     */
+    public List<String> complete(String prefix, int limit) {
+        List<String> matches = new ArrayList<>(Math.min(limit, 64));
+        Node node = root;
+        for (char c : key(prefix).toCharArray()) {
+            node = node.children.get(c);
+            if (node == null) {
+                return matches;
+            }
+        }
+        collect(node, matches, limit);
+        return matches;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static void collect(Node node, List<String> matches, int limit) {
+        if (matches.size() >= limit) {
+            return;
+        }
+        if (node.username != null) {
+            matches.add(node.username);
+        }
+        for (Node child : node.children.values()) {
+            if (matches.size() >= limit) {
+                return;
+            }
+            collect(child, matches, limit);
+        }
+    }
+
+    private static String key(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+}
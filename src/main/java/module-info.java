@@ -9,7 +9,8 @@ module com.michaelmckibbin.tickettracking {
     requires java.logging;
     requires com.fasterxml.jackson.databind;
     requires com.fasterxml.jackson.datatype.jsr310;
+    requires com.fasterxml.jackson.module.blackbird;
 
-    opens com.tickettracking to javafx.fxml;
+    opens com.tickettracking to javafx.fxml, com.fasterxml.jackson.module.blackbird;
     exports com.tickettracking;
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    @Test
+    void get_evictsLeastRecentlyUsedBeyondWeight() {
+        BoundedCache<String, String> cache = new BoundedCache<>(3, value -> 1);
+        List<String> loads = new ArrayList<>();
+        BoundedCache.Loader<String, String, RuntimeException> loader = key -> {
+            loads.add(key);
+            return key.toUpperCase();
+        };
+
+        cache.get("a", loader);
+        cache.get("b", loader);
+        cache.get("c", loader);
+        assertEquals("A", cache.get("a", loader)); // "a" is now the most recently used
+        cache.get("d", loader);
+
+        assertFalse(cache.containsKey("b"));
+        assertTrue(cache.containsKey("a"));
+        assertEquals(List.of("a", "b", "c", "d"), loads);
+        BoundedCache.Stats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(4, stats.getMisses());
+        assertEquals(1, stats.getEvictions());
+        assertEquals(3, stats.getSize());
+        assertEquals(0.2, stats.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void put_boundsTotalWeight() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, String::length);
+
+        cache.put("first", "12345");
+        cache.put("second", "1234");
+        cache.put("third", "123");
+
+        assertNull(cache.getIfPresent("first"));
+        assertEquals(7, cache.stats().getWeight());
+
+        cache.put("second", "1");
+        assertEquals(4, cache.stats().getWeight());
+
+        cache.invalidate("third");
+        assertEquals(1, cache.stats().getWeight());
+    }
+
+    @Test
+    void valueHeavierThanBound_isReturnedButNotKept() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2, String::length);
+        cache.put("a", "1");
+        cache.put("key", "2");
+
+        assertEquals("large", cache.get("other", key -> "large"));
+        cache.put("key", "larger");
+
+        assertFalse(cache.containsKey("other"));
+        assertFalse(cache.containsKey("key"));
+        assertTrue(cache.containsKey("a"));
+        assertEquals(1, cache.stats().getWeight());
+        assertEquals(0, cache.stats().getEvictions());
+    }
+}
@@ -0,0 +1,40 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyRecorderTest {
+
+    @Test
+    void emptyRecorder_reportsZero() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        assertEquals(0, recorder.snapshot().getCount());
+        assertEquals(0, recorder.snapshot().getPercentile(99));
+    }
+
+    @Test
+    void percentiles_areWithinBucketResolution() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (long micros = 1; micros <= 1000; micros++) {
+            recorder.record(micros * 1000);
+        }
+
+        LatencyRecorder.Snapshot snapshot = recorder.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500_000, snapshot.getPercentile(50), 500_000 * 0.13);
+        assertEquals(990_000, snapshot.getPercentile(99), 990_000 * 0.13);
+    }
+
+    @Test
+    void merge_combinesCounts() {
+        LatencyRecorder fast = new LatencyRecorder();
+        LatencyRecorder slow = new LatencyRecorder();
+        fast.record(1_000);
+        slow.record(1_000_000);
+
+        LatencyRecorder.Snapshot merged = fast.snapshot().merge(slow.snapshot());
+        assertEquals(2, merged.getCount());
+        assertTrue(merged.getPercentile(100) > merged.getPercentile(50));
+    }
+}
@@ -0,0 +1,67 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentVectorTest {
+
+    @Test
+    void plusAndGet_acrossSeveralTrieLevels() {
+        List<Integer> expected = new ArrayList<>();
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < 40_000; i++) {
+            vector = vector.plus(i);
+            expected.add(i);
+        }
+
+        assertEquals(40_000, vector.size());
+        assertIterableEquals(expected, vector);
+    }
+
+    @Test
+    void with_leavesOriginalUnchanged() {
+        PersistentVector<Integer> original = PersistentVector.copyOf(range(1000));
+
+        PersistentVector<Integer> changed = original.with(5, -5).with(999, -999);
+
+        assertEquals(5, original.get(5));
+        assertEquals(999, original.get(999));
+        assertEquals(-5, changed.get(5));
+        assertEquals(-999, changed.get(999));
+        assertEquals(6, changed.get(6));
+    }
+
+    @Test
+    void without_removesSingleElement() {
+        PersistentVector<Integer> original = PersistentVector.copyOf(range(100));
+
+        List<Integer> expected = new ArrayList<>(range(100));
+        expected.remove(Integer.valueOf(40));
+        assertIterableEquals(expected, original.without(40));
+
+        expected = new ArrayList<>(range(100));
+        expected.remove(99);
+        assertIterableEquals(expected, original.without(99));
+        assertEquals(100, original.size());
+    }
+
+    @Test
+    void listMutators_areUnsupported() {
+        PersistentVector<Integer> vector = PersistentVector.copyOf(range(3));
+        assertThrows(UnsupportedOperationException.class, () -> vector.add(4));
+        assertThrows(UnsupportedOperationException.class, () -> vector.set(0, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(3));
+    }
+
+    private static List<Integer> range(int size) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,52 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SavedViewTest {
+
+    @Test
+    void constructor_copiesQuery() {
+        TicketQuery query = new TicketQuery().status(Ticket.Status.OPEN);
+        SavedView view = new SavedView("Open", query);
+
+        query.priority(Ticket.Priority.LOW);
+
+        assertTrue(view.getQuery().getPriorities().isEmpty());
+        view.getQuery().priority(Ticket.Priority.HIGH);
+        assertTrue(view.getQuery().getPriorities().isEmpty());
+    }
+
+    @Test
+    void constructor_rejectsFixedTimes() {
+        TicketQuery query = new TicketQuery().createdBetween(LocalDateTime.now().minusDays(1), null);
+
+        assertThrows(IllegalArgumentException.class, () -> new SavedView("Yesterday", query));
+    }
+
+    @Test
+    void toQuery_startsRangeFromGivenTime() {
+        LocalDateTime now = LocalDateTime.of(2025, 6, 4, 15, 30);
+        SavedView view = new SavedView("Today", new TicketQuery().open(), TicketDateRange.TODAY);
+
+        TicketQuery query = view.toQuery(now);
+
+        assertEquals(LocalDateTime.of(2025, 6, 4, 0, 0), query.getCreatedFrom());
+        assertNull(query.getCreatedTo());
+        assertFalse(query.getStatuses().isEmpty());
+    }
+
+    @Test
+    void defaults_includeUserViewsOnlyWithUsername() {
+        List<SavedView> mine = SavedView.defaults("support1");
+        List<SavedView> anonymous = SavedView.defaults(null);
+
+        assertEquals("My open", mine.get(0).getName());
+        assertEquals("support1", mine.get(1).getQuery().getAssignee());
+        assertEquals(mine.size() - 2, anonymous.size());
+    }
+}
@@ -0,0 +1,59 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupPipelineTest {
+
+    @Test
+    void fork_runsPhasesInParallelAndRecordsTimings() throws Exception {
+        try (StartupPipeline startup = new StartupPipeline()) {
+            // Both phases wait for each other, so this only finishes if they run concurrently
+            CountDownLatch bothStarted = new CountDownLatch(2);
+            CompletableFuture<String> first = startup.fork("first", () -> {
+                bothStarted.countDown();
+                assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+                return "a";
+            });
+            CompletableFuture<String> second = startup.fork("second", () -> {
+                bothStarted.countDown();
+                assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+                return "b";
+            });
+
+            startup.join().get(10, TimeUnit.SECONDS);
+
+            assertEquals("a", first.get());
+            assertEquals("b", second.get());
+            assertTrue(startup.getTimings().containsKey("first"));
+            assertTrue(startup.getTimings().containsKey("second"));
+            assertTrue(startup.report().contains("total"));
+        }
+    }
+
+    @Test
+    void fork_failureCancelsOtherPhases() throws Exception {
+        try (StartupPipeline startup = new StartupPipeline()) {
+            CompletableFuture<String> slow = startup.fork("slow", () -> {
+                Thread.sleep(10_000);
+                return "never";
+            });
+            CompletableFuture<String> failing = startup.fork("failing", () -> {
+                throw new IOException("store missing");
+            });
+
+            ExecutionException error = assertThrows(ExecutionException.class,
+                    () -> startup.join().get(5, TimeUnit.SECONDS));
+            assertNotNull(error.getCause());
+            assertTrue(failing.isCompletedExceptionally());
+            assertTrue(slow.isCompletedExceptionally());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.tickettracking;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares ticket store load and save throughput of the previous setup (a default
+ * ObjectMapper, indented output, the collection type looked up on every load) with
+ * the prepared readers and writers of StoreJson, and those readers and writers with
+ * and without the Blackbird module.
+ * Excluded from the default build; run with: mvn test -Pbenchmark
+ * The store size can be changed with -Dtickettracking.benchmark.tickets=N.
+ */
+@Tag("benchmark")
+class StoreJsonBenchmarkTest {
+
+    private static final int TICKETS = Integer.getInteger("tickettracking.benchmark.tickets", 100_000);
+    private static final int WARMUP = 3;
+    private static final int RUNS = 8;
+
+    @Test
+    void preparedReadersAndWriters_loadAndSaveFaster() throws IOException {
+        List<Ticket> tickets = tickets();
+        ObjectMapper before = new ObjectMapper();
+        before.registerModule(new JavaTimeModule());
+        before.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+
+        byte[] oldContent = before.writer().with(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(tickets);
+        byte[] newContent = StoreJson.ticketListWriter().writeValueAsBytes(tickets);
+        List<Ticket> reloaded = StoreJson.ticketListReader().readValue(newContent);
+        assertEquals(TICKETS, reloaded.size());
+        assertEquals(tickets.get(TICKETS - 1).getDescription(), reloaded.get(TICKETS - 1).getDescription());
+
+        long[] save = bestNanos(
+                () -> {
+                    before.enable(SerializationFeature.INDENT_OUTPUT);
+                    return before.writeValueAsBytes(tickets).length;
+                },
+                () -> StoreJson.ticketListWriter().writeValueAsBytes(tickets).length);
+        long[] load = bestNanos(
+                () -> before.<List<Ticket>>readValue(oldContent,
+                        before.getTypeFactory().constructCollectionType(List.class, Ticket.class)).size(),
+                () -> StoreJson.ticketListReader().<List<Ticket>>readValue(newContent).size());
+
+        System.out.printf("%,d tickets: file %,d KB indented, %,d KB compact%n",
+                TICKETS, oldContent.length / 1024, newContent.length / 1024);
+        report("save", save[0], save[1]);
+        report("load", load[0], load[1]);
+        assertTrue(newContent.length < oldContent.length);
+    }
+
+    @Test
+    void blackbird_bindsFasterThanReflection() throws IOException {
+        List<Ticket> tickets = tickets();
+        ObjectMapper reflective = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        JavaType ticketList = reflective.getTypeFactory().constructCollectionType(List.class, Ticket.class);
+        ObjectWriter reflectiveWriter = reflective.writerFor(ticketList);
+        ObjectReader reflectiveReader = reflective.readerFor(ticketList);
+        byte[] content = StoreJson.compactTicketListWriter().writeValueAsBytes(tickets);
+        assertArrayEquals(content, reflectiveWriter.writeValueAsBytes(tickets));
+
+        // Same prepared, compact readers and writers; only the Blackbird module differs
+        long[] save = bestNanos(
+                () -> reflectiveWriter.writeValueAsBytes(tickets).length,
+                () -> StoreJson.compactTicketListWriter().writeValueAsBytes(tickets).length);
+        long[] load = bestNanos(
+                () -> reflectiveReader.<List<Ticket>>readValue(content).size(),
+                () -> StoreJson.ticketListReader().<List<Ticket>>readValue(content).size());
+
+        System.out.printf("%,d tickets, without Blackbird (before) and with it (after)%n", TICKETS);
+        report("save", save[0], save[1]);
+        report("load", load[0], load[1]);
+    }
+
+    private static void report(String operation, long before, long after) {
+        System.out.printf("%s: before %.0f ms (%,.0f tickets/s), after %.0f ms (%,.0f tickets/s), %.2fx%n",
+                operation, before / 1e6, TICKETS / (before / 1e9), after / 1e6, TICKETS / (after / 1e9),
+                (double) before / after);
+    }
+
+    @FunctionalInterface
+    private interface Run {
+        int run() throws IOException;
+    }
+
+    /**
+     * Returns the best times of the two runs, alternating them so that JIT and GC state
+     * favour neither.
+     */
+    private static long[] bestNanos(Run before, Run after) throws IOException {
+        long[] best = {Long.MAX_VALUE, Long.MAX_VALUE};
+        Run[] runs = {before, after};
+        int sink = 0;
+        for (int i = 0; i < WARMUP + RUNS; i++) {
+            for (int r = 0; r < runs.length; r++) {
+                long start = System.nanoTime();
+                sink += runs[r].run();
+                if (i >= WARMUP) {
+                    best[r] = Math.min(best[r], System.nanoTime() - start);
+                }
+            }
+        }
+        assertTrue(sink > 0);
+        return best;
+    }
+
+    private static List<Ticket> tickets() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        Ticket.Status[] statuses = Ticket.Status.values();
+        Ticket.Priority[] priorities = Ticket.Priority.values();
+        List<Ticket> tickets = new ArrayList<>(TICKETS);
+        for (int i = 0; i < TICKETS; i++) {
+            Ticket ticket = new Ticket();
+            ticket.setId(String.valueOf(i + 1));
+            ticket.setTitle("Ticket " + i + ": printer on floor " + i % 7 + " not responding");
+            ticket.setDescription("Steps to reproduce: send a job from Word, nothing prints. Reported by user" + i % 200);
+            ticket.setStatus(statuses[i % statuses.length]);
+            ticket.setPriority(priorities[i % priorities.length]);
+            ticket.setAssignedTo("support" + i % 20);
+            ticket.setCreatedAt(start.plusMinutes(i));
+            ticket.setUpdatedAt(start.plusMinutes(i + 30));
+            Comment comment = new Comment("Restarted the spooler, please try again.", "support" + i % 20);
+            comment.setCreatedAt(start.plusMinutes(i + 30));
+            ticket.addComment(comment);
+            tickets.add(ticket.snapshot());
+        }
+        return tickets;
+    }
+}
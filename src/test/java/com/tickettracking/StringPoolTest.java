@@ -0,0 +1,38 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringPoolTest {
+
+    @Test
+    void intern_returnsSharedInstanceForEqualStrings() {
+        StringPool pool = new StringPool(16);
+        String first = pool.intern(new String("support1"));
+        String second = pool.intern(new String("support1"));
+
+        assertSame(first, second);
+        assertNull(pool.intern(null));
+    }
+
+    @Test
+    void capacity_isBoundedAndRoundedToPowerOfTwo() {
+        assertEquals(16, new StringPool(10).capacity());
+        assertEquals(1, new StringPool(1).capacity());
+
+        StringPool pool = new StringPool(4);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("user" + i, pool.intern("user" + i));
+        }
+        assertEquals(4, pool.capacity());
+    }
+
+    @Test
+    void zeroCapacity_disablesInterning() {
+        StringPool pool = new StringPool(0);
+        String value = new String("admin");
+        assertSame(value, pool.intern(value));
+        assertNotSame(value, pool.intern(new String("admin")));
+    }
+}
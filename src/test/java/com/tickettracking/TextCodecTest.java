@@ -0,0 +1,99 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextCodecTest {
+
+    @Test
+    void compress_roundTripsText() {
+        TextCodec codec = TextCodec.train(supportTexts(500, new Random(44)));
+        String text = supportTexts(1, new Random(45)).get(0) + " Reported by Zoë Müller (Zürich office).";
+
+        Object compressed = codec.compress(text);
+
+        assertInstanceOf(TextCodec.Compressed.class, compressed);
+        assertEquals(text, TextCodec.text(compressed));
+        assertEquals(text, compressed.toString());
+    }
+
+    @Test
+    void shortOrIncompressibleText_isKeptAsString() {
+        TextCodec codec = new TextCodec(new byte[0]);
+        String random = randomLetters(200, new Random(1));
+
+        assertSame("Short note", codec.compress("Short note"));
+        assertSame(random, codec.compress(random));
+        assertNull(codec.compress(null));
+        assertNull(TextCodec.text(null));
+    }
+
+    @Test
+    void trainedDictionary_shrinksShortTextsFurther() {
+        Random random = new Random(44);
+        TextCodec trained = TextCodec.train(supportTexts(2000, random));
+        TextCodec untrained = new TextCodec(new byte[0]);
+
+        long trainedBytes = 0;
+        long untrainedBytes = 0;
+        for (String text : supportTexts(200, random)) {
+            trainedBytes += size(trained.compress(text));
+            untrainedBytes += size(untrained.compress(text));
+        }
+
+        assertTrue(trained.dictionarySize() > 0);
+        assertTrue(trainedBytes < untrainedBytes * 0.8,
+                "Trained " + trainedBytes + " bytes, untrained " + untrainedBytes);
+    }
+
+    @Test
+    void ticketSnapshot_keepsValuesWhenCompressed() {
+        TextCodec codec = TextCodec.train(supportTexts(500, new Random(2)));
+        String description = supportTexts(1, new Random(3)).get(0);
+        Ticket ticket = new Ticket();
+        ticket.setId("7");
+        ticket.setDescription(description);
+        ticket.addComment(new Comment(description + " Update: fixed by replacing the cable.", "support1"));
+        Ticket snapshot = ticket.snapshot();
+
+        snapshot.compressText(codec);
+
+        assertEquals(description, snapshot.getDescription());
+        assertEquals(description + " Update: fixed by replacing the cable.", snapshot.getComments().get(0).getContent());
+        Ticket copy = snapshot.copy();
+        assertEquals(description, copy.getDescription());
+        copy.setDescription("Edited");
+        assertEquals("Edited", copy.getDescription());
+    }
+
+    static List<String> supportTexts(int count, Random random) {
+        String[] devices = {"printer", "laptop", "VPN client", "Outlook", "docking station", "badge reader"};
+        String[] symptoms = {"does not start", "keeps disconnecting", "shows an error", "is very slow", "freezes on login"};
+        String[] steps = {"Restarted it twice", "Cleared the cache", "Reinstalled the driver", "Tried another user account"};
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            texts.add("Steps to reproduce: the " + devices[random.nextInt(devices.length)] + " "
+                    + symptoms[random.nextInt(symptoms.length)] + " since this morning (ticket ref "
+                    + random.nextInt(100_000) + "). " + steps[random.nextInt(steps.length)]
+                    + " but the problem persists. Expected result: works normally. Please advise.");
+        }
+        return texts;
+    }
+
+    private static String randomLetters(int length, Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append((char) (33 + random.nextInt(90)));
+        }
+        return text.toString();
+    }
+
+    private static long size(Object value) {
+        return value instanceof TextCodec.Compressed compressed ? compressed.compressedSize() : ((String) value).length();
+    }
+}
@@ -0,0 +1,87 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the memory held by plain and compressed ticket texts, and the cost of
+ * reading a compressed text back.
+ * Excluded from the default build; run with: mvn test -Pbenchmark
+ * The text count can be changed with -Dtickettracking.benchmark.texts=N.
+ */
+@Tag("benchmark")
+class TextCompressionBenchmarkTest {
+
+    private static final int TEXTS = Integer.getInteger("tickettracking.benchmark.texts", 200_000);
+    private static final int READS = 5;
+
+    @Test
+    void compressedTexts_holdLessMemory() {
+        Random random = new Random(44);
+        List<String> texts = new ArrayList<>(TEXTS);
+        for (String text : TextCodecTest.supportTexts(TEXTS, random)) {
+            // Comments are often a line or two, descriptions a paragraph
+            texts.add(random.nextInt(3) == 0 ? text.substring(0, text.indexOf('.') + 1) : text);
+        }
+        TextCodec codec = TextCodec.train(texts.subList(0, Math.min(texts.size(), 5_000)));
+
+        List<Object> values = new ArrayList<>(TEXTS);
+        long compressNanos = -System.nanoTime();
+        for (String text : texts) {
+            values.add(codec.compress(text));
+        }
+        compressNanos += System.nanoTime();
+
+        long plainBytes = 0;
+        long compressedBytes = 0;
+        int compressed = 0;
+        for (int i = 0; i < TEXTS; i++) {
+            plainBytes += stringBytes(texts.get(i));
+            if (values.get(i) instanceof TextCodec.Compressed value) {
+                compressedBytes += compressedBytes(value);
+                compressed++;
+            } else {
+                compressedBytes += stringBytes(texts.get(i));
+            }
+        }
+
+        int sink = 0;
+        long readNanos = Long.MAX_VALUE;
+        for (int run = 0; run < READS; run++) {
+            long begin = System.nanoTime();
+            for (Object value : values) {
+                sink += TextCodec.text(value).length();
+            }
+            readNanos = Math.min(readNanos, System.nanoTime() - begin);
+        }
+        for (int i = 0; i < TEXTS; i += 997) {
+            assertEquals(texts.get(i), TextCodec.text(values.get(i)));
+        }
+
+        System.out.printf("%,d texts (%,d compressed), dictionary %,d bytes: plain %,d KB, compressed %,d KB (%.0f%% saved)%n",
+                TEXTS, compressed, codec.dictionarySize(), plainBytes / 1024, compressedBytes / 1024,
+                100.0 * (plainBytes - compressedBytes) / plainBytes);
+        System.out.printf("compress %.2f us/text, read %.2f us/text (%d)%n",
+                compressNanos / 1e3 / TEXTS, readNanos / 1e3 / TEXTS, sink);
+        assertTrue(compressedBytes < plainBytes);
+    }
+
+    // Shallow sizes with compressed oops: object header 12 bytes, array header 16, 8-byte alignment
+    private static long stringBytes(String text) {
+        return align(24) + align(16 + text.length()); // Latin-1 text, one byte per char
+    }
+
+    private static long compressedBytes(TextCodec.Compressed value) {
+        return align(12 + 4 + 4 + 4) + align(16 + value.compressedSize());
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
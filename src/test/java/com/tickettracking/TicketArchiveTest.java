@@ -0,0 +1,132 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void find_readsSegmentsLazilyThroughCache() throws IOException {
+        TicketArchive writer = new TicketArchive(tempDir.resolve("archive"));
+        TicketArchive reader = new TicketArchive(tempDir.resolve("archive"), 2);
+        assertTrue(reader.isEmpty());
+
+        writer.write(List.of(ticket("1"), ticket("2")));
+        assertFalse(reader.isEmpty());
+        assertEquals(0, reader.cacheStats().getMisses());
+
+        assertEquals(List.of("1", "2"), ids(reader.find(ticket -> true)));
+        assertEquals(List.of("2"), ids(reader.find(ticket -> ticket.getId().equals("2"))));
+        assertEquals(1, reader.cacheStats().getMisses());
+        assertEquals(1, reader.cacheStats().getHits());
+        assertTrue(reader.find(ticket -> true).get(0).isFrozen());
+
+        // A new segment from another instance is picked up; both no longer fit in the cache
+        writer.write(List.of(ticket("3")));
+        assertEquals(List.of("1", "2", "3"), ids(reader.find(ticket -> true)));
+        assertEquals(1, reader.cacheStats().getEvictions());
+        assertEquals(1, reader.cacheStats().getWeight());
+    }
+
+    @Test
+    void write_keepsSegmentsWrittenInTheSameMillisecond() throws IOException {
+        TicketArchive first = new TicketArchive(tempDir.resolve("archive"));
+        TicketArchive second = new TicketArchive(tempDir.resolve("archive"));
+        for (int i = 1; i <= 40; i += 2) {
+            first.write(List.of(ticket(String.valueOf(i))));
+            second.write(List.of(ticket(String.valueOf(i + 1))));
+        }
+
+        assertEquals(40, new TicketArchive(tempDir.resolve("archive")).find(ticket -> true).size());
+    }
+
+    @Test
+    void serviceArchivesOnlyOldFinishedTickets() {
+        try (TicketService ticketService = new TicketService(tempDir.resolve("tickets.json"))) {
+            Ticket oldClosed = ticketService.saveTicket(oldTicket("Old closed", Ticket.Status.CLOSED));
+            Ticket oldOpen = ticketService.saveTicket(oldTicket("Old open", Ticket.Status.OPEN));
+            Ticket recentResolved = ticketService.saveTicket(newTicket("Recent resolved", Ticket.Status.RESOLVED));
+
+            assertEquals(1, ticketService.archiveTickets(Duration.ofDays(30)));
+
+            assertEquals(List.of(oldOpen, recentResolved), ticketService.getAllTickets());
+            assertNull(ticketService.getTicket(oldClosed.getId()));
+            assertEquals(0, ticketService.getAggregates().getStatusCount(Ticket.Status.CLOSED));
+            List<TicketAuditLog.Change> history = ticketService.getAuditLog().history(oldClosed.getId());
+            assertEquals(TicketAuditLog.Change.Type.ARCHIVED, history.get(history.size() - 1).getType());
+            assertNull(ticketService.getAuditLog().ticketAt(oldClosed.getId(), LocalDateTime.now()));
+            // Archived tickets are found only when a finished status is asked for
+            assertEquals(List.of(), ticketService.findTickets(new TicketQuery().containing("Old closed")));
+            assertEquals(List.of("Old closed"), titles(ticketService.findTickets(new TicketQuery().status(Ticket.Status.CLOSED))));
+            assertEquals(2, ticketService.countTickets(new TicketQuery().status(Ticket.Status.CLOSED, Ticket.Status.RESOLVED)));
+
+            // A second instance sees the archive and the smaller live store
+            try (TicketService reopened = new TicketService(tempDir.resolve("tickets.json"))) {
+                assertEquals(2, reopened.getAllTickets().size());
+                assertEquals(List.of("Old closed"), titles(reopened.findTickets(new TicketQuery().status(Ticket.Status.CLOSED))));
+            }
+        }
+    }
+
+    @Test
+    void serviceNeverReusesArchivedIds() throws IOException {
+        Path store = tempDir.resolve("tickets.json");
+        try (TicketService ticketService = new TicketService(store)) {
+            ticketService.saveTicket(newTicket("Open", Ticket.Status.OPEN));
+            Ticket archived = ticketService.saveTicket(oldTicket("Old closed", Ticket.Status.CLOSED));
+            assertEquals(1, ticketService.archiveTickets(Duration.ofDays(30)));
+
+            Ticket next = ticketService.saveTicket(newTicket("Next", Ticket.Status.OPEN));
+            assertEquals(Integer.parseInt(archived.getId()) + 1, Integer.parseInt(next.getId()));
+        }
+
+        // A store from before the ID sequence existed starts it above the archived IDs
+        Files.delete(tempDir.resolve("tickets.json.ids"));
+        try (TicketService reopened = new TicketService(store)) {
+            Ticket next = reopened.saveTicket(newTicket("After upgrade", Ticket.Status.OPEN));
+            assertEquals("4", next.getId());
+            assertEquals(1, reopened.findTickets(new TicketQuery().status(Ticket.Status.CLOSED)).size());
+        }
+    }
+
+    private static Ticket ticket(String id) {
+        Ticket ticket = newTicket("Ticket " + id, Ticket.Status.CLOSED);
+        ticket.setId(id);
+        ticket.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        return ticket.snapshot();
+    }
+
+    private static Ticket oldTicket(String title, Ticket.Status status) {
+        Ticket ticket = newTicket(title, status);
+        ticket.setCreatedAt(LocalDateTime.now().minusDays(90));
+        return ticket;
+    }
+
+    private static Ticket newTicket(String title, Ticket.Status status) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle(title);
+        ticket.setStatus(status);
+        ticket.setPriority(Ticket.Priority.MEDIUM);
+        return ticket;
+    }
+
+    private static List<String> ids(List<Ticket> tickets) {
+        return tickets.stream().map(Ticket::getId).toList();
+    }
+
+    private static List<String> titles(List<Ticket> tickets) {
+        return tickets.stream().map(Ticket::getTitle).toList();
+    }
+}
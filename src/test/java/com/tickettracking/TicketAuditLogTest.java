@@ -0,0 +1,133 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketAuditLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TicketService ticketService;
+
+    @BeforeEach
+    void setUp() {
+        ticketService = new TicketService(tempDir.resolve("tickets.json"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketService.close();
+    }
+
+    @Test
+    void history_recordsFieldLevelChanges() {
+        Ticket stored = ticketService.saveTicket(newTicket("Printer jam"));
+        ticketService.modifyTicket(stored.getId(), ticket -> {
+            ticket.setStatus(Ticket.Status.IN_PROGRESS);
+            ticket.setAssignedTo("support1");
+        });
+        ticketService.modifyTicket(stored.getId(), ticket -> ticket.addComment(new Comment("Replaced the drum", "support1")));
+        ticketService.deleteTicket(ticketService.getTicket(stored.getId()));
+
+        List<TicketAuditLog.Change> history = ticketService.getAuditLog().history(stored.getId());
+
+        assertEquals(4, history.size());
+        assertEquals(TicketAuditLog.Change.Type.CREATED, history.get(0).getType());
+        assertEquals("Printer jam", history.get(0).getNewValues().get(TicketAuditLog.Field.TITLE));
+        assertEquals(Map.of(TicketAuditLog.Field.STATUS, "IN_PROGRESS", TicketAuditLog.Field.ASSIGNED_TO, "support1"),
+                history.get(1).getNewValues());
+        assertEquals(2, history.get(1).getVersion());
+        assertEquals(Map.of(TicketAuditLog.Field.COMMENT, "support1: Replaced the drum"), history.get(2).getNewValues());
+        assertEquals(TicketAuditLog.Change.Type.DELETED, history.get(3).getType());
+    }
+
+    @Test
+    void ticketAt_reconstructsEveryPastVersionAcrossCheckpoints() {
+        Ticket stored = ticketService.saveTicket(newTicket("Version 1"));
+        List<Ticket> versions = new ArrayList<>();
+        versions.add(stored);
+        for (int i = 2; i <= 40; i++) {
+            String title = "Version " + i;
+            Ticket.Priority priority = Ticket.Priority.values()[i % Ticket.Priority.values().length];
+            versions.add(ticketService.modifyTicket(stored.getId(), ticket -> {
+                ticket.setTitle(title);
+                ticket.setPriority(priority);
+            }));
+        }
+        LocalDateTime beforeDelete = LocalDateTime.now();
+        ticketService.deleteTicket(versions.get(versions.size() - 1));
+
+        TicketAuditLog auditLog = ticketService.getAuditLog();
+        for (Ticket version : versions) {
+            LocalDateTime time = version.getUpdatedAt() != null ? version.getUpdatedAt() : version.getCreatedAt();
+            Ticket past = auditLog.ticketAt(stored.getId(), time);
+            assertEquals(version.getTitle(), past.getTitle());
+            assertEquals(version.getPriority(), past.getPriority());
+            assertEquals(version.getVersion(), past.getVersion());
+            assertTrue(past.isFrozen());
+        }
+        assertNull(auditLog.ticketAt(stored.getId(), stored.getCreatedAt().minusSeconds(1)));
+        assertEquals("Version 40", auditLog.ticketAt(stored.getId(), beforeDelete).getTitle());
+        assertNull(auditLog.ticketAt(stored.getId(), LocalDateTime.now()));
+    }
+
+    @Test
+    void history_includesChangesFromAnotherInstance() {
+        Ticket stored = ticketService.saveTicket(newTicket("Shared"));
+        try (TicketService other = new TicketService(tempDir.resolve("tickets.json"))) {
+            other.modifyTicket(stored.getId(), ticket -> ticket.setDescription("Edited elsewhere"));
+            other.getAuditLog().flush();
+
+            List<TicketAuditLog.Change> history = ticketService.getAuditLog().history(stored.getId());
+
+            assertEquals(2, history.size());
+            assertEquals("Edited elsewhere", history.get(1).getNewValues().get(TicketAuditLog.Field.DESCRIPTION));
+        }
+    }
+
+    @Test
+    void history_ordersRecordsByVersionWhenInstancesAppendLate() {
+        Ticket created = newTicket("Shared");
+        created.setId("1");
+        created.setVersion(1);
+        created.setCreatedAt(LocalDateTime.of(2025, 3, 1, 9, 0));
+        Ticket edited = created.copy();
+        edited.setDescription("Edited elsewhere");
+        edited.setVersion(2);
+        edited.setUpdatedAt(LocalDateTime.of(2025, 3, 1, 9, 5));
+
+        // The other instance's edit reaches the file before this instance's creation record
+        Path logPath = tempDir.resolve("shared.audit");
+        try (TicketAuditLog mine = new TicketAuditLog(logPath); TicketAuditLog theirs = new TicketAuditLog(logPath)) {
+            theirs.updated(created.snapshot(), edited.snapshot());
+            theirs.flush();
+            mine.created(created.snapshot());
+
+            List<TicketAuditLog.Change> history = mine.history("1");
+            assertEquals(2, history.size());
+            assertEquals(TicketAuditLog.Change.Type.CREATED, history.get(0).getType());
+            assertEquals(Map.of(TicketAuditLog.Field.DESCRIPTION, "Edited elsewhere"), history.get(1).getNewValues());
+            assertEquals(1, mine.ticketAt("1", LocalDateTime.of(2025, 3, 1, 9, 1)).getVersion());
+            assertEquals("Edited elsewhere", mine.ticketAt("1", LocalDateTime.of(2025, 3, 1, 9, 6)).getDescription());
+        }
+    }
+
+    private static Ticket newTicket(String title) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle(title);
+        ticket.setStatus(Ticket.Status.NEW);
+        ticket.setPriority(Ticket.Priority.MEDIUM);
+        return ticket;
+    }
+}
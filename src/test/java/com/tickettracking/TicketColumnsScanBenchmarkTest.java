@@ -0,0 +1,68 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the bitmap filter scans of TicketColumns with a row-by-row scan.
+ * Excluded from the default build; run with: mvn test -Pbenchmark
+ * The row count can be changed with -Dtickettracking.benchmark.rows=N.
+ */
+@Tag("benchmark")
+class TicketColumnsScanBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("tickettracking.benchmark.rows", 10_000_000);
+    private static final int WARMUP = 5;
+    private static final int RUNS = 10;
+
+    @Test
+    void bitmapScan_isFasterThanRowByRow() {
+        TicketColumns columns = new TicketColumns();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        Ticket.Status[] statuses = Ticket.Status.values();
+        Ticket.Priority[] priorities = Ticket.Priority.values();
+        for (int i = 0; i < ROWS; i++) {
+            int hash = i * 0x9E3779B1;
+            columns.appendRow(i + 1, start.plusSeconds(i),
+                    statuses[(hash >>> 8) % statuses.length], priorities[(hash >>> 16) % priorities.length],
+                    "user" + (hash >>> 24) % 200);
+        }
+
+        List<TicketQuery> queries = List.of(
+                new TicketQuery().status(Ticket.Status.OPEN),
+                new TicketQuery().open().priority(Ticket.Priority.HIGH, Ticket.Priority.CRITICAL),
+                new TicketQuery().status(Ticket.Status.IN_PROGRESS).assignedTo("user7"),
+                new TicketQuery().priority(Ticket.Priority.LOW).createdBetween(start, start.plusDays(30)));
+
+        for (TicketQuery query : queries) {
+            assertEquals(columns.countRowByRow(query), columns.count(query));
+            long rowByRow = medianNanos(columns::countRowByRow, query);
+            long bitmap = medianNanos(columns::count, query);
+            System.out.printf("%,d rows, %s/%s: row-by-row %.1f ms, bitmap %.1f ms (%.1fx)%n",
+                    ROWS, query.getStatuses(), query.getPriorities(),
+                    rowByRow / 1e6, bitmap / 1e6, (double) rowByRow / bitmap);
+        }
+    }
+
+    private static long medianNanos(ToIntFunction<TicketQuery> scan, TicketQuery query) {
+        long[] times = new long[RUNS];
+        int sink = 0;
+        for (int i = 0; i < WARMUP + RUNS; i++) {
+            long begin = System.nanoTime();
+            sink += scan.applyAsInt(query);
+            if (i >= WARMUP) {
+                times[i - WARMUP] = System.nanoTime() - begin;
+            }
+        }
+        assertTrue(sink >= 0);
+        Arrays.sort(times);
+        return times[RUNS / 2];
+    }
+}
@@ -0,0 +1,84 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketColumnsTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Test
+    void bitmapScan_agreesWithRowByRowScan() {
+        Random random = new Random(38);
+        // Sizes around word and chunk boundaries exercise the partial tail of the bitmap
+        for (int rows : new int[] {0, 1, 7, 8, 63, 64, 65, 1000}) {
+            TicketColumns columns = fill(rows, random);
+            for (TicketQuery query : queries(random)) {
+                assertEquals(columns.countRowByRow(query), columns.count(query),
+                        "Mismatch for " + rows + " rows");
+            }
+        }
+    }
+
+    @Test
+    void select_returnsMatchingTicketsInOrder() {
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 1; i <= 130; i++) {
+            Ticket ticket = new Ticket("Ticket " + i, "", Ticket.Priority.values()[i % 4], START.plusMinutes(i));
+            ticket.setId(String.valueOf(i));
+            ticket.setStatus(i % 3 == 0 ? Ticket.Status.CLOSED : Ticket.Status.OPEN);
+            tickets.add(ticket);
+        }
+        TicketColumns columns = new TicketColumns();
+        columns.rebuild(PersistentVector.copyOf(tickets));
+
+        List<Ticket> expected = tickets.stream()
+                .filter(ticket -> ticket.getStatus() == Ticket.Status.CLOSED && ticket.getPriority() == Ticket.Priority.HIGH)
+                .toList();
+        assertEquals(expected, columns.select(new TicketQuery().status(Ticket.Status.CLOSED).priority(Ticket.Priority.HIGH)));
+    }
+
+    private static TicketColumns fill(int rows, Random random) {
+        TicketColumns columns = new TicketColumns();
+        for (int i = 0; i < rows; i++) {
+            columns.appendRow(i + 1, START.plusMinutes(random.nextInt(10_000)),
+                    pick(Ticket.Status.values(), random), pick(Ticket.Priority.values(), random),
+                    random.nextInt(4) == 0 ? null : "user" + random.nextInt(5));
+        }
+        return columns;
+    }
+
+    private static List<TicketQuery> queries(Random random) {
+        List<TicketQuery> queries = new ArrayList<>();
+        queries.add(new TicketQuery());
+        queries.add(new TicketQuery().open());
+        queries.add(new TicketQuery().assignedTo(null));
+        queries.add(new TicketQuery().assignedTo("nobody"));
+        for (int i = 0; i < 50; i++) {
+            TicketQuery query = new TicketQuery()
+                    .status(pick(Ticket.Status.values(), random), pick(Ticket.Status.values(), random))
+                    .priority(pick(Ticket.Priority.values(), random));
+            if (random.nextBoolean()) {
+                query.assignedTo("user" + random.nextInt(5));
+            }
+            if (random.nextBoolean()) {
+                query.createdBetween(START.plusMinutes(random.nextInt(5_000)), random.nextBoolean() ? null : START.plusMinutes(8_000));
+            }
+            if (random.nextBoolean()) {
+                query.idBetween(random.nextInt(100), 500);
+            }
+            queries.add(query);
+        }
+        return queries;
+    }
+
+    private static <T> T pick(T[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,159 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketEventBatcherTest {
+
+    /**
+     * Stands in for Platform.runLater: runnables wait until the test runs a "pulse".
+     */
+    private static final class PulseExecutor implements Executor {
+        private final Deque<Runnable> scheduled = new ArrayDeque<>();
+
+        @Override
+        public synchronized void execute(Runnable runnable) {
+            scheduled.add(runnable);
+        }
+
+        synchronized int size() {
+            return scheduled.size();
+        }
+
+        void pulse() {
+            List<Runnable> due;
+            synchronized (this) {
+                due = new ArrayList<>(scheduled);
+                scheduled.clear();
+            }
+            due.forEach(Runnable::run);
+        }
+    }
+
+    private final PulseExecutor pulses = new PulseExecutor();
+    private final List<List<TicketEvent>> batches = new ArrayList<>();
+
+    @Test
+    void eventsBetweenPulses_areDeliveredAsOneBatch() {
+        TicketEventBatcher batcher = new TicketEventBatcher(pulses, batches::add);
+        TicketEvent created = event(TicketEvent.Type.CREATED, "1");
+        TicketEvent updated = event(TicketEvent.Type.UPDATED, "1");
+        TicketEvent deleted = event(TicketEvent.Type.DELETED, "2");
+
+        batcher.accept(created);
+        batcher.accept(updated);
+        batcher.accept(deleted);
+
+        assertEquals(1, pulses.size());
+        assertEquals(3, batcher.pending());
+        pulses.pulse();
+        assertEquals(List.of(List.of(created, updated, deleted)), batches);
+        assertEquals(0, pulses.size());
+
+        batcher.accept(created);
+        pulses.pulse();
+        assertEquals(2, batches.size());
+    }
+
+    @Test
+    void largeBursts_areSplitAcrossPulses() {
+        TicketEventBatcher batcher = new TicketEventBatcher(pulses, batches::add, 100);
+        for (int i = 0; i < 250; i++) {
+            batcher.accept(event(TicketEvent.Type.CREATED, String.valueOf(i)));
+        }
+
+        pulses.pulse();
+        pulses.pulse();
+        pulses.pulse();
+
+        assertEquals(List.of(100, 100, 50), batches.stream().map(List::size).toList());
+        assertEquals("0", batches.get(0).get(0).getTicket().getId());
+        assertEquals("249", batches.get(2).get(49).getTicket().getId());
+        assertEquals(0, pulses.size());
+    }
+
+    @Test
+    void failingHandler_doesNotStopLaterBatches() {
+        List<List<TicketEvent>> delivered = new ArrayList<>();
+        TicketEventBatcher batcher = new TicketEventBatcher(pulses, batch -> {
+            delivered.add(batch);
+            if (delivered.size() == 1) {
+                throw new IllegalStateException("Broken view");
+            }
+        });
+
+        batcher.accept(event(TicketEvent.Type.CREATED, "1"));
+        pulses.pulse();
+        batcher.accept(event(TicketEvent.Type.CREATED, "2"));
+        pulses.pulse();
+
+        assertEquals(2, delivered.size());
+    }
+
+    @Test
+    void concurrentPublishers_loseNoEvents() throws Exception {
+        ExecutorService consumer = Executors.newSingleThreadExecutor();
+        int threads = 4;
+        int perThread = 20_000;
+        List<TicketEvent> received = new ArrayList<>();
+        AtomicInteger batchCount = new AtomicInteger();
+        CountDownLatch allReceived = new CountDownLatch(threads * perThread);
+        TicketEventBatcher batcher = new TicketEventBatcher(consumer, batch -> {
+            received.addAll(batch);
+            batchCount.incrementAndGet();
+            batch.forEach(event -> allReceived.countDown());
+        });
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String prefix = t + "-";
+            Thread publisher = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    batcher.accept(event(TicketEvent.Type.UPDATED, prefix + i));
+                }
+            });
+            publisher.start();
+            publishers.add(publisher);
+        }
+        start.countDown();
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+        assertTrue(allReceived.await(10, TimeUnit.SECONDS));
+        consumer.shutdown();
+        assertTrue(consumer.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread, received.size());
+        assertTrue(batchCount.get() < received.size(), "Events should be batched");
+        // Each publisher's events arrive in the order it published them
+        int[] next = new int[threads];
+        for (TicketEvent event : received) {
+            String[] parts = event.getTicket().getId().split("-");
+            int thread = Integer.parseInt(parts[0]);
+            assertEquals(next[thread]++, Integer.parseInt(parts[1]));
+        }
+    }
+
+    private static TicketEvent event(TicketEvent.Type type, String id) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        return new TicketEvent(type, ticket);
+    }
+}
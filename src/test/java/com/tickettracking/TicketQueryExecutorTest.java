@@ -0,0 +1,70 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketQueryExecutorTest {
+
+    // Always splits, however small or cheap the work
+    private final TicketQueryExecutor parallel = new TicketQueryExecutor(0, 0);
+    private final TicketQueryExecutor serial = new TicketQueryExecutor(Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    @Test
+    void filter_keepsSourceOrderWhenSplit() {
+        List<Integer> source = randomInts(100_000);
+        Predicate<Integer> even = value -> value % 2 == 0;
+
+        List<Integer> expected = serial.filter(source, even);
+
+        assertEquals(expected, parallel.filter(source, even));
+        assertEquals(expected, parallel.filter(PersistentVector.copyOf(source), even));
+    }
+
+    @Test
+    void sort_isStableWhenSplit() {
+        List<int[]> source = new ArrayList<>();
+        Random random = new Random(39);
+        for (int i = 0; i < 100_000; i++) {
+            source.add(new int[] {random.nextInt(100), i});
+        }
+        Comparator<int[]> byKey = Comparator.comparingInt(pair -> pair[0]);
+
+        List<int[]> sorted = parallel.sort(source, byKey);
+
+        assertEquals(source.size(), sorted.size());
+        for (int i = 1; i < sorted.size(); i++) {
+            int[] previous = sorted.get(i - 1);
+            int[] current = sorted.get(i);
+            assertTrue(previous[0] < current[0] || (previous[0] == current[0] && previous[1] < current[1]));
+        }
+    }
+
+    @Test
+    void smallLists_stayOnCallingThread() {
+        TicketQueryExecutor executor = new TicketQueryExecutor();
+        Thread caller = Thread.currentThread();
+
+        List<Integer> matches = executor.filter(randomInts(1000), value -> {
+            assertSame(caller, Thread.currentThread());
+            return true;
+        });
+
+        assertEquals(1000, matches.size());
+    }
+
+    private static List<Integer> randomInts(int count) {
+        Random random = new Random(count);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            values.add(random.nextInt());
+        }
+        return values;
+    }
+}
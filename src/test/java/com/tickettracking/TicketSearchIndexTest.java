@@ -0,0 +1,119 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketSearchIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 2, 9, 0);
+
+    private final TicketSearchIndex index = new TicketSearchIndex();
+
+    @Test
+    void search_toleratesTyposAndPrefixes() {
+        Ticket printer = ticket("1", "Printer jammed on floor 3", null, NOW);
+        Ticket vpn = ticket("2", "VPN keeps disconnecting", null, NOW);
+        index.rebuild(List.of(printer, vpn));
+
+        assertEquals(List.of(printer), search("printer"));
+        assertEquals(List.of(printer), search("pritner"));   // Swapped letters
+        assertEquals(List.of(printer), search("prin"));      // Still typing
+        assertEquals(List.of(printer), search("jamed"));     // Missing letter
+        assertEquals(List.of(vpn), search("disconecting"));
+        assertEquals(List.of(vpn), search("connect"));       // Inside a word
+        assertEquals(List.of(), search("scanner"));
+    }
+
+    @Test
+    void search_coversDescriptionCommentsAndRequiresEveryWord() {
+        Ticket described = ticket("1", "Slow laptop", "Fans are loud and battery drains fast", NOW);
+        Ticket commented = ticket("2", "Laptop issue", null, NOW);
+        commented.addComment(new Comment("Replaced the battery, fixed", "support1"));
+        index.rebuild(List.of(described.snapshot(), commented.snapshot()));
+
+        assertEquals(2, search("battery").size());
+        assertEquals("1", search("laptop fans").get(0).getId());
+        assertEquals(List.of(), search("laptop printer"));
+        assertEquals("2", search("replaced").get(0).getId());
+    }
+
+    @Test
+    void rank_prefersTitleMatchesFrequencyAndRecentActivity() {
+        Ticket inDescription = ticket("1", "Email problem", "Outlook crashes on start", NOW);
+        Ticket inTitle = ticket("2", "Outlook crashes", null, NOW);
+        Ticket repeated = ticket("3", "Outlook crashes", "Outlook crashes again after the Outlook update", NOW);
+        Ticket old = ticket("4", "Outlook crashes", null, NOW.minusDays(120));
+        index.rebuild(List.of(inDescription, inTitle, old, repeated));
+
+        assertEquals(List.of(repeated, inTitle, old, inDescription), search("outlook crashes"));
+        assertEquals(List.of(repeated), TicketSearchIndex.rank(index.candidates("outlook"), "outlook",
+                ticket -> true, 1, NOW));
+    }
+
+    @Test
+    void updatedAndRemovedTickets_areFoundByTheirCurrentTextOnly() {
+        Ticket original = ticket("1", "Printer offline", null, NOW);
+        Ticket other = ticket("2", "Monitor flickers", null, NOW);
+        index.rebuild(List.of(original, other));
+
+        Ticket edited = ticket("1", "Scanner offline", null, NOW);
+        index.updated(edited);
+        index.removed("2");
+
+        assertEquals(List.of(), search("printer"));
+        assertEquals(List.of(edited), search("scanner"));
+        assertEquals(List.of(), search("monitor"));
+    }
+
+    @Test
+    void repeatedUpdates_compactTheIndex() {
+        for (int i = 0; i < 5_000; i++) {
+            index.updated(ticket("1", "Printer offline " + i, null, NOW));
+        }
+
+        List<Ticket> found = search("printer");
+        assertEquals(1, found.size());
+        assertEquals("Printer offline 4999", found.get(0).getTitle());
+    }
+
+    @Test
+    void candidates_areOnlyTicketsSharingGrams() {
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            tickets.add(ticket(String.valueOf(i), "Password reset for user " + i, null, NOW));
+        }
+        tickets.add(ticket("printer", "Printer jammed", null, NOW));
+        index.rebuild(tickets);
+
+        assertTrue(index.candidates("printer").size() < 10);
+        assertEquals(1, search("pritner").size());
+    }
+
+    @Test
+    void editDistance_countsSwapsAsOneEdit() {
+        assertEquals(0, TicketSearchIndex.editDistance("printer", "printer", 2));
+        assertEquals(1, TicketSearchIndex.editDistance("pritner", "printer", 2));
+        assertEquals(1, TicketSearchIndex.editDistance("priner", "printer", 2));
+        assertEquals(3, TicketSearchIndex.editDistance("abc", "xyzabc", 2));
+    }
+
+    private List<Ticket> search(String text) {
+        return TicketSearchIndex.rank(index.candidates(text), text, ticket -> true, Integer.MAX_VALUE, NOW);
+    }
+
+    private static Ticket ticket(String id, String title, String description, LocalDateTime updatedAt) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle(title);
+        ticket.setDescription(description);
+        ticket.setStatus(Ticket.Status.NEW);
+        ticket.setCreatedAt(updatedAt.minusDays(1));
+        ticket.setUpdatedAt(updatedAt);
+        return ticket;
+    }
+}
@@ -0,0 +1,339 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a mixed create, update, delete and search workload from many threads against a
+ * large generated store, split between two TicketService instances sharing the store
+ * files, and checks the invariants that single-threaded tests cannot reach:
+ *
+ * - no ID is handed out twice while its ticket exists, and both instances and a fresh
+ *   load end up with exactly the tickets the workers believe exist;
+ * - no update is lost: every successful increment of a contended counter ticket is in
+ *   its final value, whichever instance made it;
+ * - the store survives a crash at any moment: copies of the files taken mid-workload,
+ *   next to a half-written temporary file, load without any file being set aside.
+ *
+ * Throughput per operation, store latencies and GC activity are printed at the end.
+ * Excluded from the default build; run with: mvn test -Pstress
+ * Tune with -Dtickettracking.stress.seconds=N (per layout), .tickets=N and .threads=N.
+ */
+@Tag("stress")
+class TicketServiceStressTest {
+
+    private static final int SECONDS = Integer.getInteger("tickettracking.stress.seconds", 120);
+    private static final int TICKETS = Integer.getInteger("tickettracking.stress.tickets", 50_000);
+    private static final int THREADS = Integer.getInteger("tickettracking.stress.threads",
+            Math.max(8, 2 * Runtime.getRuntime().availableProcessors()));
+    private static final int COUNTERS = 8;
+    private static final long CRASH_INTERVAL_MILLIS = 1_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void mixedWorkload_singleFileStore() throws Exception {
+        runWorkload(0);
+    }
+
+    @Test
+    void mixedWorkload_shardedStore() throws Exception {
+        runWorkload(1_000);
+    }
+
+    private void runWorkload(int shardSize) throws Exception {
+        Path store = tempDir.resolve("tickets.json");
+        generateStore(store);
+        try (TicketService first = new TicketService(store, shardSize);
+             TicketService second = new TicketService(store, shardSize)) {
+            runWorkload(store, shardSize, first, second);
+        }
+    }
+
+    private void runWorkload(Path store, int shardSize, TicketService first, TicketService second) throws Exception {
+        assertEquals(TICKETS, first.getAllTickets().size());
+
+        Map<String, String> live = new ConcurrentHashMap<>(); // ID -> title the workers believe is stored
+        for (Ticket ticket : first.getAllTickets()) {
+            live.put(ticket.getId(), ticket.getTitle());
+        }
+        List<String> counterIds = new ArrayList<>();
+        for (int i = 0; i < COUNTERS; i++) {
+            Ticket counter = first.saveTicket(newTicket("Counter " + i, "count=0"));
+            counterIds.add(counter.getId());
+            live.put(counter.getId(), counter.getTitle());
+        }
+        AtomicLongArray increments = new AtomicLongArray(COUNTERS);
+        Stats stats = new Stats();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        long gcCountBefore = gcCount(collectors);
+        long gcMillisBefore = gcMillis(collectors);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS + 1);
+        List<Future<?>> running = new ArrayList<>();
+        for (int w = 0; w < THREADS; w++) {
+            TicketService service = w % 2 == 0 ? first : second;
+            int worker = w;
+            running.add(workers.submit(() -> work(worker, service, deadline, live, counterIds, increments, stats, failures)));
+        }
+        running.add(workers.submit(() -> simulateCrashes(store, shardSize, deadline, stats, failures)));
+        for (Future<?> future : running) {
+            future.get();
+        }
+        workers.shutdown();
+        long gcCount = gcCount(collectors) - gcCountBefore;
+        long gcMillis = gcMillis(collectors) - gcMillisBefore;
+
+        assertTrue(failures.isEmpty(), () -> failures.size() + " failures, first: " + failures.peek());
+        first.syncWithStore();
+        second.syncWithStore();
+        try (TicketService reloaded = new TicketService(store, shardSize)) {
+            for (TicketService service : List.of(first, second, reloaded)) {
+                Map<String, String> stored = titlesById(service.getAllTickets());
+                assertEquals(live, stored);
+                for (int i = 0; i < COUNTERS; i++) {
+                    assertEquals("count=" + increments.get(i), service.getTicket(counterIds.get(i)).getDescription(),
+                            "lost update on counter " + i);
+                }
+            }
+        }
+
+        System.out.printf("%s store, %,d tickets, %d threads, %d s%n",
+                shardSize > 0 ? "Sharded (" + shardSize + " per shard)" : "Single-file", TICKETS, THREADS, SECONDS);
+        stats.report(SECONDS);
+        System.out.printf("conflicts retried out: %,d, crash copies loaded: %,d%n",
+                stats.conflicts.get(), stats.crashCopies.get());
+        for (TicketService.Operation operation : List.of(TicketService.Operation.SAVE,
+                TicketService.Operation.UPDATE, TicketService.Operation.DELETE)) {
+            LatencyRecorder.Snapshot latency = first.getLatency(operation).snapshot()
+                    .merge(second.getLatency(operation).snapshot());
+            System.out.printf("%s latency: p50 %.1f ms, p99 %.1f ms%n", operation,
+                    latency.getPercentileMillis(50), latency.getPercentileMillis(99));
+        }
+        System.out.printf("GC: %,d collections, %,d ms (%.1f%% of wall time), %,d MB allocated by workers%n",
+                gcCount, gcMillis, 100.0 * gcMillis / (SECONDS * 1000.0), stats.allocatedBytes.get() / (1024 * 1024));
+    }
+
+    private static void work(int worker, TicketService service, long deadline, Map<String, String> live,
+                             List<String> counterIds, AtomicLongArray increments, Stats stats, Queue<Throwable> failures) {
+        long allocatedBefore = allocatedBytes();
+        Random random = new Random(worker);
+        String marker = "[w" + worker + "]";
+        List<String> own = new ArrayList<>(); // Tickets this worker created and may change or delete
+        int created = 0;
+        try {
+            while (System.nanoTime() < deadline) {
+                int roll = random.nextInt(100);
+                if (roll < 30 || own.isEmpty()) {
+                    String title = "Stress " + marker + " " + created++;
+                    Ticket saved = service.saveTicket(newTicket(title, null));
+                    String previous = live.putIfAbsent(saved.getId(), title);
+                    assertNull(previous, "ID " + saved.getId() + " handed out while in use by " + previous);
+                    own.add(saved.getId());
+                    stats.creates.incrementAndGet();
+                } else if (roll < 55) {
+                    int counter = random.nextInt(COUNTERS);
+                    try {
+                        service.modifyTicket(counterIds.get(counter), ticket -> ticket.setDescription(
+                                "count=" + (Long.parseLong(ticket.getDescription().substring(6)) + 1)));
+                        increments.incrementAndGet(counter);
+                        stats.updates.incrementAndGet();
+                    } catch (TicketConflictException e) {
+                        stats.conflicts.incrementAndGet();
+                    }
+                } else if (roll < 65) {
+                    String id = own.get(random.nextInt(own.size()));
+                    String title = live.get(id) + "'";
+                    service.modifyTicket(id, ticket -> ticket.setTitle(title));
+                    live.put(id, title);
+                    stats.updates.incrementAndGet();
+                } else if (roll < 75) {
+                    String id = own.remove(random.nextInt(own.size()));
+                    // Forget the ID first: once deleted, another worker may be given it
+                    String title = live.remove(id);
+                    try {
+                        service.deleteTicket(service.getTicket(id));
+                    } catch (RuntimeException e) {
+                        live.put(id, title);
+                        throw e;
+                    }
+                    stats.deletes.incrementAndGet();
+                } else {
+                    read(service, marker, random, stats);
+                }
+            }
+        } catch (Throwable e) {
+            failures.add(e);
+        } finally {
+            stats.allocatedBytes.addAndGet(allocatedBytes() - allocatedBefore);
+        }
+    }
+
+    private static void read(TicketService service, String marker, Random random, Stats stats) {
+        switch (random.nextInt(4)) {
+            case 0:
+                for (Ticket ticket : service.findTickets(new TicketQuery().containing(marker))) {
+                    assertTrue(ticket.getTitle().contains(marker), ticket.getTitle());
+                }
+                break;
+            case 1:
+                for (Ticket ticket : service.searchTickets("printer restart", new TicketQuery(), 20)) {
+                    assertTrue(ticket.isFrozen());
+                }
+                break;
+            case 2:
+                service.countTickets(new TicketQuery().open().priority(Ticket.Priority.HIGH));
+                break;
+            default:
+                // The published snapshot must never hold the same ID twice
+                List<Ticket> all = service.getAllTickets();
+                Set<String> ids = new HashSet<>(all.size() * 2);
+                for (Ticket ticket : all) {
+                    assertTrue(ids.add(ticket.getId()), "duplicate ID " + ticket.getId());
+                }
+                break;
+        }
+        stats.reads.incrementAndGet();
+    }
+
+    /**
+     * Copies the store files as a crash at this moment would leave them, adds a
+     * half-written temporary file as an interrupted save would, and loads the copy.
+     */
+    private void simulateCrashes(Path store, int shardSize, long deadline, Stats stats, Queue<Throwable> failures) {
+        try {
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(CRASH_INTERVAL_MILLIS);
+                Path crashDir = Files.createDirectory(tempDir.resolve("crash-" + stats.crashCopies.incrementAndGet()));
+                Path copy = crashDir.resolve("tickets.json");
+                Path source = shardSize > 0 ? store.resolveSibling("tickets.json.shards") : store;
+                Path target = shardSize > 0 ? crashDir.resolve("tickets.json.shards") : copy;
+                if (shardSize > 0) {
+                    Files.createDirectory(target);
+                    try (Stream<Path> files = Files.list(source)) {
+                        for (Path file : files.filter(file -> file.getFileName().toString().endsWith(".json")).toList()) {
+                            Files.copy(file, target.resolve(file.getFileName()));
+                        }
+                    }
+                } else {
+                    Files.copy(source, target);
+                }
+                Path anyFile = shardSize > 0 ? target.resolve("shard-00000.json") : copy;
+                Files.write(anyFile.resolveSibling(anyFile.getFileName() + "123.tmp"), "[{\"id\":\"1\",\"ti".getBytes());
+
+                try (TicketService recovered = new TicketService(copy, shardSize)) {
+                    assertTrue(recovered.getAllTickets().size() >= COUNTERS);
+                }
+                try (Stream<Path> files = Files.walk(crashDir)) {
+                    assertEquals(List.of(), files.filter(file -> file.getFileName().toString().contains(".corrupt-")).toList());
+                }
+            }
+        } catch (Throwable e) {
+            failures.add(e);
+        }
+    }
+
+    private static void generateStore(Path store) throws IOException {
+        Random random = new Random(42);
+        List<String> texts = TextCodecTest.supportTexts(1_000, random);
+        Ticket.Status[] statuses = Ticket.Status.values();
+        Ticket.Priority[] priorities = Ticket.Priority.values();
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        List<Ticket> tickets = new ArrayList<>(TICKETS);
+        for (int i = 1; i <= TICKETS; i++) {
+            Ticket ticket = newTicket("Generated ticket " + i, texts.get(random.nextInt(texts.size())));
+            ticket.setId(String.valueOf(i));
+            ticket.setStatus(statuses[random.nextInt(statuses.length)]);
+            ticket.setPriority(priorities[random.nextInt(priorities.length)]);
+            ticket.setAssignedTo("user" + random.nextInt(50));
+            ticket.setCreatedAt(start.plusMinutes(i * 10L));
+            ticket.setVersion(1);
+            tickets.add(ticket);
+        }
+        Files.write(store, StoreJson.ticketListWriter().writeValueAsBytes(tickets));
+    }
+
+    private static Ticket newTicket(String title, String description) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle(title);
+        ticket.setDescription(description);
+        ticket.setStatus(Ticket.Status.OPEN);
+        ticket.setPriority(Ticket.Priority.MEDIUM);
+        return ticket;
+    }
+
+    private static Map<String, String> titlesById(List<Ticket> tickets) {
+        Map<String, String> titles = new HashMap<>();
+        for (Ticket ticket : tickets) {
+            assertNull(titles.put(ticket.getId(), ticket.getTitle()), "duplicate ID " + ticket.getId());
+        }
+        return titles;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getCurrentThreadAllocatedBytes();
+    }
+
+    private static long gcCount(List<GarbageCollectorMXBean> collectors) {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis(List<GarbageCollectorMXBean> collectors) {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return millis;
+    }
+
+    private static final class Stats {
+        private final AtomicLong creates = new AtomicLong();
+        private final AtomicLong updates = new AtomicLong();
+        private final AtomicLong deletes = new AtomicLong();
+        private final AtomicLong reads = new AtomicLong();
+        private final AtomicLong conflicts = new AtomicLong();
+        private final AtomicLong crashCopies = new AtomicLong();
+        private final AtomicLong allocatedBytes = new AtomicLong();
+
+        void report(int seconds) {
+            System.out.printf("creates %,.0f/s, updates %,.0f/s, deletes %,.0f/s, reads %,.0f/s%n",
+                    creates.get() / (double) seconds, updates.get() / (double) seconds,
+                    deletes.get() / (double) seconds, reads.get() / (double) seconds);
+        }
+    }
+}
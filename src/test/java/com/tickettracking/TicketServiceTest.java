@@ -1,10 +1,14 @@
 package com.tickettracking;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,9 +22,13 @@ class TicketServiceTest {
 
     @BeforeEach
     void setUp() {
-        // Make FILE_PATH = "tickets.json" land in a temp directory
-        System.setProperty("user.dir", tempDir.toString());
-        ticketService = new TicketService();
+        // Keep the store in a temp directory so tests never touch the real tickets.json
+        ticketService = new TicketService(tempDir.resolve("tickets.json"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketService.close();
     }
 
     @Test
@@ -78,6 +86,35 @@ class TicketServiceTest {
         assertEquals(id1 + 1, id2);
     }
 
+    @Test
+    void saveTicket_neverReusesIdsOfDeletedTickets() {
+        Ticket first = ticketService.saveTicket(newTicket("First", Ticket.Status.NEW, Ticket.Priority.LOW, null));
+        Ticket second = ticketService.saveTicket(newTicket("Second", Ticket.Status.NEW, Ticket.Priority.LOW, null));
+        ticketService.deleteTicket(second);
+
+        Ticket third = ticketService.saveTicket(newTicket("Third", Ticket.Status.NEW, Ticket.Priority.LOW, null));
+        assertEquals(Integer.parseInt(second.getId()) + 1, Integer.parseInt(third.getId()));
+
+        // Another instance continues the same sequence
+        try (TicketService other = new TicketService(tempDir.resolve("tickets.json"))) {
+            other.deleteTicket(other.getTicket(third.getId()));
+            Ticket fourth = other.saveTicket(newTicket("Fourth", Ticket.Status.NEW, Ticket.Priority.LOW, null));
+            assertEquals(Integer.parseInt(third.getId()) + 1, Integer.parseInt(fourth.getId()));
+        }
+        assertEquals(first.getId(), ticketService.getAllTickets().get(0).getId());
+    }
+
+    @Test
+    void saveTicket_rejectsIdOfExistingTicket() {
+        Ticket stored = ticketService.saveTicket(newTicket("Original", Ticket.Status.NEW, Ticket.Priority.LOW, null));
+        Ticket duplicate = newTicket("Duplicate", Ticket.Status.NEW, Ticket.Priority.LOW, null);
+        duplicate.setId(stored.getId());
+
+        assertThrows(IllegalArgumentException.class, () -> ticketService.saveTicket(duplicate));
+        assertEquals(1, ticketService.getAllTickets().size());
+        assertEquals("Original", ticketService.getTicket(stored.getId()).getTitle());
+    }
+
     @Test
     void updateTicket_updatesExistingTicket() {
         // Create and save
@@ -88,7 +125,7 @@ class TicketServiceTest {
         t.setPriority(Ticket.Priority.MEDIUM);
 
         ticketService.saveTicket(t);
-        Ticket stored = ticketService.getAllTickets().get(0);
+        Ticket stored = ticketService.getAllTickets().get(0).copy();
         String id = stored.getId();
 
         // Modify and update
@@ -160,4 +197,281 @@ class TicketServiceTest {
 
         assertThrows(IllegalArgumentException.class, () -> ticketService.saveTicket(t));
     }
+
+    @Test
+    void aggregates_trackCountsAcrossMutations() {
+        Ticket critical = newTicket("Outage", Ticket.Status.OPEN, Ticket.Priority.CRITICAL, "support1");
+        Ticket minor = newTicket("Typo", Ticket.Status.NEW, Ticket.Priority.LOW, "support1");
+        ticketService.saveTicket(critical);
+        ticketService.saveTicket(minor);
+
+        TicketAggregates aggregates = ticketService.getAggregates();
+        assertEquals(2, aggregates.getOpenCount());
+        assertEquals(1, aggregates.getOpenCount(Ticket.Priority.CRITICAL));
+        assertEquals(2, aggregates.getOpenCountForAssignee("support1"));
+
+        critical.setStatus(Ticket.Status.RESOLVED);
+        ticketService.updateTicket(critical);
+        assertEquals(1, aggregates.getOpenCount());
+        assertEquals(0, aggregates.getOpenCount(Ticket.Priority.CRITICAL));
+        assertEquals(1, aggregates.getStatusCount(Ticket.Status.RESOLVED));
+        assertEquals(1, aggregates.getOpenCountForAssignee("support1"));
+
+        ticketService.deleteTicket(minor);
+        assertEquals(0, aggregates.getOpenCount());
+        assertEquals(0, aggregates.getOpenCountForAssignee("support1"));
+        assertEquals(1, aggregates.getTotalCount());
+    }
+
+    @Test
+    void aggregates_reportOldestOpenTicket() {
+        LocalDateTime now = LocalDateTime.now();
+        Ticket old = newTicket("Old", Ticket.Status.OPEN, Ticket.Priority.MEDIUM, null);
+        old.setCreatedAt(now.minusDays(3));
+        Ticket recent = newTicket("Recent", Ticket.Status.OPEN, Ticket.Priority.MEDIUM, null);
+        recent.setCreatedAt(now.minusHours(1));
+        ticketService.saveTicket(recent);
+        ticketService.saveTicket(old);
+
+        TicketAggregates aggregates = ticketService.getAggregates();
+        assertEquals(old.getId(), aggregates.getOldestOpenTicket().getId());
+        assertTrue(aggregates.isSlaBreached(Duration.ofDays(2), now));
+
+        old.setStatus(Ticket.Status.CLOSED);
+        ticketService.updateTicket(old);
+        assertEquals(recent.getId(), aggregates.getOldestOpenTicket().getId());
+        assertFalse(aggregates.isSlaBreached(Duration.ofDays(2), now));
+    }
+
+    @Test
+    void syncWithStore_mergesChangesFromAnotherInstance() {
+        Path store = tempDir.resolve("tickets.json");
+        ticketService.saveTicket(newTicket("Shared", Ticket.Status.OPEN, Ticket.Priority.LOW, null));
+        try (TicketService other = new TicketService(store)) {
+            other.saveTicket(newTicket("From other", Ticket.Status.NEW, Ticket.Priority.HIGH, null));
+            Ticket edited = other.getAllTickets().get(0).copy();
+            edited.setTitle("Shared (edited)");
+            other.updateTicket(edited);
+
+            ticketService.syncWithStore();
+            List<Ticket> all = ticketService.getAllTickets();
+            assertEquals(2, all.size());
+            assertEquals("Shared (edited)", all.get(0).getTitle());
+            assertEquals(2, all.get(0).getVersion());
+            assertEquals("From other", all.get(1).getTitle());
+            assertEquals(1, ticketService.getAggregates().getOpenCount(Ticket.Priority.HIGH));
+
+            other.deleteTicket(all.get(1));
+            ticketService.syncWithStore();
+            assertEquals(1, ticketService.getAllTickets().size());
+        }
+    }
+
+    @Test
+    void updateTicket_staleVersion_throwsConflict() {
+        Path store = tempDir.resolve("tickets.json");
+        ticketService.saveTicket(newTicket("Original", Ticket.Status.OPEN, Ticket.Priority.LOW, null));
+        Ticket mine = ticketService.getAllTickets().get(0).copy();
+        try (TicketService other = new TicketService(store)) {
+            Ticket theirs = other.getAllTickets().get(0).copy();
+            theirs.setTitle("Their edit");
+            other.updateTicket(theirs);
+        }
+
+        mine.setTitle("My edit");
+        assertThrows(TicketConflictException.class, () -> ticketService.updateTicket(mine));
+        assertEquals("Their edit", ticketService.getAllTickets().get(0).getTitle());
+    }
+
+    @Test
+    void storedTickets_areImmutableSnapshots() {
+        Ticket draft = newTicket("Draft", Ticket.Status.NEW, Ticket.Priority.LOW, null);
+        Ticket stored = ticketService.saveTicket(draft);
+
+        assertNotSame(draft, stored);
+        assertTrue(stored.isFrozen());
+        assertThrows(UnsupportedOperationException.class, () -> stored.setTitle("Changed"));
+        assertSame(stored, ticketService.getTicket(stored.getId()));
+
+        // Editing the caller's draft afterwards does not leak into the store
+        draft.setTitle("Changed later");
+        assertEquals("Draft", ticketService.getTicket(stored.getId()).getTitle());
+    }
+
+    @Test
+    void modifyTicket_retriesOnConflictingEdits() {
+        Ticket stored = ticketService.saveTicket(newTicket("Counter", Ticket.Status.NEW, Ticket.Priority.LOW, null));
+        Ticket staleCopy = stored.copy();
+
+        ticketService.modifyTicket(stored.getId(), t -> t.setDescription("first"));
+        Ticket result = ticketService.modifyTicket(stored.getId(), t -> t.setStatus(Ticket.Status.IN_PROGRESS));
+
+        assertEquals(3, result.getVersion());
+        assertEquals("first", result.getDescription());
+        assertEquals(Ticket.Status.IN_PROGRESS, result.getStatus());
+        assertThrows(TicketConflictException.class, () -> ticketService.updateTicket(staleCopy));
+    }
+
+    @Test
+    void getAllTickets_returnsSharedSnapshotUnaffectedByLaterChanges() {
+        ticketService.saveTicket(newTicket("First", Ticket.Status.NEW, Ticket.Priority.LOW, null));
+        List<Ticket> before = ticketService.getAllTickets();
+        assertSame(before, ticketService.getAllTickets(), "Repeated reads should not copy");
+
+        ticketService.saveTicket(newTicket("Second", Ticket.Status.NEW, Ticket.Priority.LOW, null));
+        assertEquals(1, before.size());
+        assertEquals(2, ticketService.getAllTickets().size());
+        assertThrows(UnsupportedOperationException.class, () -> before.add(new Ticket()));
+    }
+
+    @Test
+    void findTickets_matchesQueryAcrossMutations() {
+        Ticket outage = ticketService.saveTicket(newTicket("Outage", Ticket.Status.OPEN, Ticket.Priority.CRITICAL, "support1"));
+        ticketService.saveTicket(newTicket("Typo", Ticket.Status.NEW, Ticket.Priority.LOW, "support2"));
+        Ticket login = ticketService.saveTicket(newTicket("Login", Ticket.Status.OPEN, Ticket.Priority.HIGH, null));
+        ticketService.saveTicket(newTicket("Done", Ticket.Status.CLOSED, Ticket.Priority.HIGH, "support1"));
+
+        assertEquals(List.of(outage, login), ticketService.findTickets(new TicketQuery().status(Ticket.Status.OPEN)));
+        assertEquals(List.of(login), ticketService.findTickets(new TicketQuery().assignedTo(null)));
+        assertEquals(2, ticketService.countTickets(new TicketQuery().priority(Ticket.Priority.HIGH)));
+        assertEquals(0, ticketService.countTickets(new TicketQuery().assignedTo("nobody")));
+        assertEquals(3, ticketService.countTickets(new TicketQuery().open()));
+        assertEquals(2, ticketService.countTickets(new TicketQuery().idBetween(2, 3)));
+
+        Ticket edit = outage.copy();
+        edit.setStatus(Ticket.Status.RESOLVED);
+        ticketService.updateTicket(edit);
+        ticketService.deleteTicket(login);
+
+        assertEquals(List.of(), ticketService.findTickets(new TicketQuery().status(Ticket.Status.OPEN)));
+        assertEquals(1, ticketService.countTickets(new TicketQuery().status(Ticket.Status.RESOLVED).assignedTo("support1")));
+
+        // The columnar index and a plain per-ticket test agree
+        TicketQuery highOrCritical = new TicketQuery().priority(Ticket.Priority.HIGH, Ticket.Priority.CRITICAL);
+        assertEquals(ticketService.getAllTickets().stream().filter(highOrCritical::matches).toList(),
+                ticketService.findTickets(highOrCritical));
+    }
+
+    @Test
+    void findTickets_filtersByCreationTime() {
+        Ticket early = newTicket("Early", Ticket.Status.NEW, Ticket.Priority.LOW, null);
+        early.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0));
+        Ticket late = newTicket("Late", Ticket.Status.NEW, Ticket.Priority.LOW, null);
+        late.setCreatedAt(LocalDateTime.of(2025, 3, 1, 9, 0));
+        Ticket storedEarly = ticketService.saveTicket(early);
+        Ticket storedLate = ticketService.saveTicket(late);
+
+        assertEquals(List.of(storedEarly), ticketService.findTickets(
+                new TicketQuery().createdBetween(null, LocalDateTime.of(2025, 2, 1, 0, 0))));
+        assertEquals(List.of(storedLate), ticketService.findTickets(
+                new TicketQuery().createdBetween(LocalDateTime.of(2025, 3, 1, 9, 0), null)));
+    }
+
+    @Test
+    void findTickets_usesTimeIndexForDateRanges() {
+        Ticket early = newTicket("Early", Ticket.Status.OPEN, Ticket.Priority.LOW, null);
+        early.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0));
+        Ticket storedEarly = ticketService.saveTicket(early);
+        Ticket storedRecent = ticketService.saveTicket(newTicket("Recent", Ticket.Status.OPEN, Ticket.Priority.HIGH, null));
+        LocalDateTime beforeUpdate = LocalDateTime.now();
+        Ticket updatedEarly = ticketService.modifyTicket(storedEarly.getId(), ticket -> ticket.setPriority(Ticket.Priority.CRITICAL));
+
+        LocalDateTime lastWeek = LocalDateTime.now().minusDays(7);
+        assertEquals(List.of(storedRecent), ticketService.findCreatedBetween(lastWeek, null));
+        assertEquals(List.of(updatedEarly), ticketService.findUpdatedBetween(beforeUpdate, null));
+        assertEquals(List.of(updatedEarly), ticketService.findTickets(
+                new TicketQuery().updatedBetween(lastWeek, null).createdBetween(null, lastWeek)));
+        assertEquals(List.of(), ticketService.findTickets(
+                new TicketQuery().createdBetween(lastWeek, null).priority(Ticket.Priority.LOW)));
+        assertEquals(1, ticketService.countTickets(new TicketQuery().updatedBetween(beforeUpdate, null)));
+
+        ticketService.deleteTicket(storedRecent);
+        assertEquals(0, ticketService.countCreatedBetween(lastWeek, null));
+    }
+
+    @Test
+    void findTickets_searchesTextAndSorts() {
+        Ticket printer = ticketService.saveTicket(newTicket("Printer jam", Ticket.Status.OPEN, Ticket.Priority.LOW, "support1"));
+        Ticket vpn = ticketService.saveTicket(newTicket("VPN down", Ticket.Status.OPEN, Ticket.Priority.CRITICAL, "Support2"));
+        ticketService.saveTicket(newTicket("Laptop request", Ticket.Status.CLOSED, Ticket.Priority.MEDIUM, null));
+
+        assertEquals(List.of(printer, vpn), ticketService.findTickets(new TicketQuery().containing(" SUPPORT ")));
+        assertEquals(List.of(vpn), ticketService.findTickets(new TicketQuery().containing("vpn").status(Ticket.Status.OPEN)));
+        assertEquals(1, ticketService.countTickets(new TicketQuery().containing("jam")));
+        assertEquals(List.of(vpn, printer), ticketService.findTickets(new TicketQuery().containing("support"),
+                Comparator.comparing(Ticket::getPriority).reversed()));
+    }
+
+    @Test
+    void searchTickets_ranksFuzzyMatchesAndAppliesFilter() {
+        Ticket printer = ticketService.saveTicket(newTicket("Printer jam", Ticket.Status.OPEN, Ticket.Priority.LOW, "support1"));
+        Ticket toner = newTicket("Toner low", Ticket.Status.CLOSED, Ticket.Priority.LOW, null);
+        toner.setDescription("The printer on floor 2 needs toner");
+        toner = ticketService.saveTicket(toner);
+
+        assertEquals(List.of(printer, toner), ticketService.searchTickets("printr"));
+        assertEquals(List.of(toner), ticketService.searchTickets("printer",
+                new TicketQuery().status(Ticket.Status.CLOSED), 10));
+
+        Ticket edited = ticketService.modifyTicket(printer.getId(), ticket -> ticket.setTitle("Scanner jam"));
+        assertEquals(List.of(toner), ticketService.searchTickets("printer"));
+        assertEquals(List.of(edited), ticketService.searchTickets("scaner"));
+
+        // Another instance builds its index from the store file
+        try (TicketService other = new TicketService(tempDir.resolve("tickets.json"))) {
+            List<Ticket> reloaded = other.searchTickets("scanner jam");
+            assertEquals(1, reloaded.size());
+            assertEquals(edited.getId(), reloaded.get(0).getId());
+        }
+    }
+
+    @Test
+    void findTickets_savedViewStaysCurrentAcrossMutations() {
+        SavedView view = new SavedView("Critical open", new TicketQuery().open().priority(Ticket.Priority.CRITICAL));
+        Ticket vpn = ticketService.saveTicket(newTicket("VPN down", Ticket.Status.OPEN, Ticket.Priority.CRITICAL, null));
+        ticketService.saveTicket(newTicket("Printer jam", Ticket.Status.OPEN, Ticket.Priority.LOW, null));
+
+        List<Ticket> first = ticketService.findTickets(view);
+        assertEquals(List.of(vpn), first);
+        assertSame(first, ticketService.findTickets(view)); // Served from the cache
+
+        Ticket email = ticketService.saveTicket(newTicket("Email down", Ticket.Status.NEW, Ticket.Priority.CRITICAL, null));
+        assertEquals(List.of(vpn, email), ticketService.findTickets(view));
+
+        Ticket resolved = ticketService.modifyTicket(vpn.getId(), ticket -> ticket.setStatus(Ticket.Status.RESOLVED));
+        assertEquals(List.of(email), ticketService.findTickets(view));
+        ticketService.deleteTicket(email);
+        assertEquals(List.of(), ticketService.findTickets(view));
+
+        // Changes merged from another instance reach the view too
+        try (TicketService other = new TicketService(tempDir.resolve("tickets.json"))) {
+            other.modifyTicket(resolved.getId(), ticket -> ticket.setStatus(Ticket.Status.OPEN));
+        }
+        ticketService.syncWithStore();
+        List<Ticket> reopened = ticketService.findTickets(view);
+        assertEquals(1, reopened.size());
+        assertEquals(vpn.getId(), reopened.get(0).getId());
+        assertEquals(ticketService.findTickets(new TicketQuery().open().priority(Ticket.Priority.CRITICAL)), reopened);
+    }
+
+    @Test
+    void findTickets_savedViewAppliesRelativeDateRange() {
+        Ticket recent = ticketService.saveTicket(newTicket("Recent", Ticket.Status.OPEN, Ticket.Priority.LOW, null));
+        Ticket old = ticketService.saveTicket(newTicket("Old", Ticket.Status.OPEN, Ticket.Priority.LOW, null));
+        ticketService.modifyTicket(old.getId(), ticket -> ticket.setCreatedAt(LocalDateTime.now().minusDays(3)));
+        SavedView view = new SavedView("Last day", new TicketQuery(), TicketDateRange.LAST_24_HOURS);
+
+        assertEquals(List.of(recent), ticketService.findTickets(view));
+        Ticket added = ticketService.saveTicket(newTicket("Added", Ticket.Status.OPEN, Ticket.Priority.LOW, null));
+        assertEquals(List.of(recent, added), ticketService.findTickets(view));
+    }
+
+    private static Ticket newTicket(String title, Ticket.Status status, Ticket.Priority priority, String assignee) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle(title);
+        ticket.setStatus(status);
+        ticket.setPriority(priority);
+        ticket.setAssignedTo(assignee);
+        return ticket;
+    }
 }
@@ -0,0 +1,245 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketStoreFilesTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<TicketService> services = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (TicketService service : services) {
+            service.close();
+        }
+    }
+
+    @Test
+    void sharded_changeRewritesOnlyItsShard() throws IOException {
+        Path store = tempDir.resolve("tickets.json");
+        TicketService ticketService = open(store, 2);
+        for (int i = 1; i <= 5; i++) {
+            ticketService.saveTicket(newTicket("Ticket " + i));
+        }
+        assertEquals(List.of("shard-00000.json", "shard-00001.json", "shard-00002.json"), shardFiles(store));
+        assertFalse(Files.exists(store));
+
+        FileTime untouched = FileTime.fromMillis(0);
+        Path shard0 = shardDirectory(store).resolve("shard-00000.json");
+        Path shard1 = shardDirectory(store).resolve("shard-00001.json");
+        Files.setLastModifiedTime(shard0, untouched);
+        Files.setLastModifiedTime(shard1, untouched);
+
+        Ticket edit = ticketService.getTicket("3").copy();
+        edit.setTitle("Ticket 3 edited");
+        ticketService.updateTicket(edit);
+        assertEquals(untouched, Files.getLastModifiedTime(shard0));
+        assertNotEquals(untouched, Files.getLastModifiedTime(shard1));
+
+        TicketService reopened = open(store, 2);
+        assertEquals(List.of("1", "2", "3", "4", "5"), ids(reopened.getAllTickets()));
+        assertEquals("Ticket 3 edited", reopened.getTicket("3").getTitle());
+    }
+
+    @Test
+    void sharded_corruptShardIsSetAsideAndOthersLoad() throws IOException {
+        Path store = tempDir.resolve("tickets.json");
+        TicketService ticketService = open(store, 2);
+        for (int i = 1; i <= 5; i++) {
+            ticketService.saveTicket(newTicket("Ticket " + i));
+        }
+        Files.writeString(shardDirectory(store).resolve("shard-00001.json"), "[{\"id\": \"3\", \"title\":");
+
+        TicketService reopened = open(store, 2);
+        assertEquals(List.of("1", "2", "5"), ids(reopened.getAllTickets()));
+        try (Stream<Path> files = Files.list(shardDirectory(store))) {
+            assertEquals(1, files.filter(file -> file.getFileName().toString().startsWith("shard-00001.json.corrupt-")).count());
+        }
+
+        // The store stays writable, and new tickets keep counting from the highest loaded ID
+        assertEquals("6", reopened.saveTicket(newTicket("Ticket 6")).getId());
+        assertEquals(List.of("1", "2", "5", "6"), ids(open(store, 2).getAllTickets()));
+    }
+
+    @Test
+    void sharded_splitsSingleFileStoreAndReshards() throws IOException {
+        Path store = tempDir.resolve("tickets.json");
+        TicketService single = open(store, 0);
+        for (int i = 1; i <= 5; i++) {
+            single.saveTicket(newTicket("Ticket " + i));
+        }
+
+        TicketService sharded = open(store, 2);
+        assertEquals(List.of("1", "2", "3", "4", "5"), ids(sharded.getAllTickets()));
+        assertEquals(3, shardFiles(store).size());
+        assertFalse(Files.exists(store));
+        assertTrue(Files.exists(tempDir.resolve("tickets.json.unsharded")));
+
+        TicketService resharded = open(store, 4);
+        assertEquals(List.of("1", "2", "3", "4", "5"), ids(resharded.getAllTickets()));
+        assertEquals(List.of("shard-00000.json", "shard-00001.json"), shardFiles(store));
+        assertEquals(List.of("1", "2", "3", "4", "5"), ids(open(store, 4).getAllTickets()));
+    }
+
+    @Test
+    void sharded_syncMergesChangesFromAnotherInstance() {
+        Path store = tempDir.resolve("tickets.json");
+        TicketService first = open(store, 2);
+        for (int i = 1; i <= 4; i++) {
+            first.saveTicket(newTicket("Ticket " + i));
+        }
+        TicketService second = open(store, 2);
+        Ticket stale = first.getTicket("4").copy();
+
+        Ticket edit = second.getTicket("4").copy();
+        edit.setTitle("Ticket 4 edited");
+        second.updateTicket(edit);
+        second.deleteTicket(second.getTicket("1"));
+        second.saveTicket(newTicket("Ticket 5"));
+
+        first.syncWithStore();
+        assertEquals(List.of("2", "3", "4", "5"), ids(first.getAllTickets()));
+        assertEquals("Ticket 4 edited", first.getTicket("4").getTitle());
+        assertNull(first.getTicket("1"));
+
+        // A stale copy is still refused after the merge
+        stale.setTitle("Lost update");
+        assertThrows(TicketConflictException.class, () -> first.updateTicket(stale));
+    }
+
+    @Test
+    void sharded_mergeSetsAsideCorruptShardAndKeepsWorking() throws IOException {
+        Path store = tempDir.resolve("tickets.json");
+        TicketService first = open(store, 2);
+        for (int i = 1; i <= 5; i++) {
+            first.saveTicket(newTicket("Ticket " + i));
+        }
+        TicketService second = open(store, 2);
+        Files.writeString(shardDirectory(store).resolve("shard-00001.json"), "[{\"id\": \"3\", \"title\":");
+
+        // The next change merges the damaged shard as empty instead of failing
+        assertEquals("6", first.saveTicket(newTicket("Ticket 6")).getId());
+        assertEquals(List.of("1", "2", "5", "6"), ids(first.getAllTickets()));
+        try (Stream<Path> files = Files.list(shardDirectory(store))) {
+            assertEquals(1, files.filter(file -> file.getFileName().toString().startsWith("shard-00001.json.corrupt-")).count());
+        }
+
+        second.syncWithStore();
+        assertEquals(List.of("1", "2", "5", "6"), ids(second.getAllTickets()));
+        second.saveTicket(newTicket("Ticket 7"));
+        assertEquals(List.of("1", "2", "5", "6", "7"), ids(open(store, 2).getAllTickets()));
+    }
+
+    @Test
+    void sharded_deletedShardIsMergedAsEmpty() throws IOException {
+        Path store = tempDir.resolve("tickets.json");
+        TicketService ticketService = open(store, 2);
+        for (int i = 1; i <= 5; i++) {
+            ticketService.saveTicket(newTicket("Ticket " + i));
+        }
+        Files.delete(shardDirectory(store).resolve("shard-00002.json"));
+
+        ticketService.syncWithStore();
+        assertEquals(List.of("1", "2", "3", "4"), ids(ticketService.getAllTickets()));
+        assertNull(ticketService.getTicket("5"));
+    }
+
+    @Test
+    void readChanged_skipsFilesWithUnchangedSizeAndTime() throws IOException {
+        Path store = tempDir.resolve("tickets.json");
+        TicketStoreFiles files = new TicketStoreFiles(store, 2);
+        files.load();
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            Ticket ticket = newTicket("Ticket " + i);
+            ticket.setId(String.valueOf(i));
+            tickets.add(ticket);
+        }
+        files.writeAll(tickets);
+
+        // Just written, so the timestamps cannot be trusted yet: the content is compared instead
+        Path shard0 = shardDirectory(store).resolve("shard-00000.json");
+        FileTime old = FileTime.fromMillis(System.currentTimeMillis() - 60_000);
+        Files.setLastModifiedTime(shard0, old);
+        Files.setLastModifiedTime(shardDirectory(store).resolve("shard-00001.json"), old);
+        assertTrue(files.readChanged().isEmpty());
+
+        // Same size and time: not even read, so an in-place edit that keeps both goes unseen
+        byte[] content = Files.readAllBytes(shard0);
+        byte[] edited = content.clone();
+        int title = new String(content, StandardCharsets.ISO_8859_1).indexOf("Ticket 1");
+        edited[title + 7] = '9';
+        Files.write(shard0, edited);
+        Files.setLastModifiedTime(shard0, old);
+        assertTrue(files.readChanged().isEmpty());
+
+        Files.setLastModifiedTime(shard0, FileTime.fromMillis(old.toMillis() + 1_000));
+        assertEquals(List.of(0), List.copyOf(files.readChanged().keySet()));
+    }
+
+    @Test
+    void singleFile_corruptStoreIsSetAside() throws IOException {
+        Path store = tempDir.resolve("tickets.json");
+        Files.writeString(store, "not json");
+
+        TicketService ticketService = open(store, 0);
+        assertEquals(List.of(), ticketService.getAllTickets());
+        ticketService.saveTicket(newTicket("Ticket 1"));
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            Path aside = files.filter(file -> file.getFileName().toString().startsWith("tickets.json.corrupt-"))
+                    .findFirst().orElseThrow();
+            assertEquals("not json", Files.readString(aside));
+        }
+    }
+
+    private TicketService open(Path store, int shardSize) {
+        TicketService service = new TicketService(store, shardSize);
+        services.add(service);
+        return service;
+    }
+
+    private static Path shardDirectory(Path store) {
+        return store.resolveSibling(store.getFileName() + ".shards");
+    }
+
+    private static List<String> shardFiles(Path store) throws IOException {
+        try (Stream<Path> files = Files.list(shardDirectory(store))) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".json"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static List<String> ids(List<Ticket> tickets) {
+        List<String> ids = new ArrayList<>();
+        for (Ticket ticket : tickets) {
+            ids.add(ticket.getId());
+        }
+        return ids;
+    }
+
+    private static Ticket newTicket(String title) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle(title);
+        ticket.setStatus(Ticket.Status.OPEN);
+        ticket.setPriority(Ticket.Priority.MEDIUM);
+        return ticket;
+    }
+}
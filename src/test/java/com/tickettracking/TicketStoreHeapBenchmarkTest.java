@@ -0,0 +1,99 @@
+package com.tickettracking;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the retained heap of a large ticket store loaded by TicketService.
+ * Excluded from the default build; run with: mvn test -Pbenchmark
+ * The store size can be changed with -Dtickettracking.benchmark.tickets=N.
+ */
+@Tag("benchmark")
+class TicketStoreHeapBenchmarkTest {
+
+    private static final int TICKETS = Integer.getInteger("tickettracking.benchmark.tickets", 1_000_000);
+    private static final int USERS = 200;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void loadedStore_sharesRepeatedStrings() throws IOException {
+        Path store = tempDir.resolve("tickets.json");
+        writeStore(store);
+
+        long before = usedHeap();
+        try (TicketService service = new TicketService(store)) {
+            long after = usedHeap();
+
+            assertEquals(TICKETS, service.getAllTickets().size());
+            System.out.printf("Loaded %d tickets: %d MB retained, %d bytes/ticket%n",
+                    TICKETS, (after - before) >> 20, (after - before) / TICKETS);
+
+            // Every ticket's assignee and comment author should be one of a few pooled instances
+            Set<String> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Ticket ticket : service.getAllTickets()) {
+                distinct.add(ticket.getAssignedTo());
+                for (Comment comment : ticket.getComments()) {
+                    distinct.add(comment.getCreatedBy());
+                }
+            }
+            System.out.printf("Distinct assignee/author String instances: %d%n", distinct.size());
+            assertTrue(distinct.size() < USERS * 2, "Repeated usernames were not interned");
+        }
+    }
+
+    private static void writeStore(Path store) throws IOException {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        try (JsonGenerator json = new JsonFactory().createGenerator(store.toFile(), JsonEncoding.UTF8)) {
+            json.writeStartArray();
+            for (int i = 1; i <= TICKETS; i++) {
+                String id = String.valueOf(i);
+                String user = "user" + (i % USERS);
+                String createdAt = start.plusMinutes(i).toString();
+                json.writeStartObject();
+                json.writeStringField("id", id);
+                json.writeStringField("title", "Ticket " + i);
+                json.writeStringField("description", "Generated ticket");
+                json.writeStringField("status", Ticket.Status.values()[i % Ticket.Status.values().length].name());
+                json.writeStringField("priority", Ticket.Priority.values()[i % Ticket.Priority.values().length].name());
+                json.writeStringField("createdAt", createdAt);
+                json.writeStringField("updatedAt", createdAt);
+                json.writeStringField("assignedTo", user);
+                json.writeNumberField("version", 1);
+                json.writeArrayFieldStart("comments");
+                json.writeStartObject();
+                json.writeStringField("id", "c" + i);
+                json.writeStringField("ticketId", id);
+                json.writeStringField("content", "Looking into it");
+                json.writeStringField("createdBy", user);
+                json.writeStringField("createdAt", createdAt);
+                json.writeEndObject();
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -1,5 +1,8 @@
 package com.tickettracking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
@@ -70,4 +73,62 @@ class TicketTest {
         assertEquals("support1", stored.getCreatedBy());
         assertEquals("42", stored.getTicketId(), "Comment ticketId should be set by addComment()");
     }
+
+    @Test
+    void snapshot_isFrozenAndCopyIsEditable() {
+        Ticket ticket = new Ticket();
+        ticket.setId("7");
+        ticket.setTitle("Original");
+        ticket.addComment(new Comment("First", "support1"));
+
+        Ticket snapshot = ticket.snapshot();
+        assertTrue(snapshot.isFrozen());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.setTitle("Changed"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.addComment(new Comment("x", "y")));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getComments().get(0).setContent("x"));
+
+        Ticket copy = snapshot.copy();
+        assertFalse(copy.isFrozen());
+        copy.setTitle("Changed");
+        copy.addComment(new Comment("Second", "support2"));
+        assertEquals("Original", snapshot.getTitle());
+        assertEquals(1, snapshot.getComments().size());
+        assertEquals(2, copy.getComments().size());
+    }
+
+    @Test
+    void json_roundTripsTimestampsAndInternsRepeatedStrings() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        LocalDateTime created = LocalDateTime.of(2025, 6, 6, 21, 29, 14, 935962200);
+        Ticket ticket = new Ticket("Title", "Description", Ticket.Priority.HIGH, created);
+        ticket.setId("12");
+        ticket.setAssignedTo("support1");
+        ticket.addComment(new Comment("First", "support1"));
+
+        String json = mapper.writeValueAsString(ticket);
+        Ticket first = mapper.readValue(json, Ticket.class);
+        Ticket second = mapper.readValue(json, Ticket.class);
+
+        assertEquals(created, first.getCreatedAt());
+        assertEquals(created, first.getUpdatedAt());
+        assertEquals(ticket.getComments().get(0).getCreatedAt(), first.getComments().get(0).getCreatedAt());
+        assertSame(first.getAssignedTo(), second.getAssignedTo());
+        assertSame(first.getAssignedTo(), first.getComments().get(0).getCreatedBy());
+        Ticket snapshot = first.snapshot();
+        assertSame(snapshot.getId(), snapshot.getComments().get(0).getTicketId());
+    }
+
+    @Test
+    void timestamps_nullAndPreEpochValuesSurvive() {
+        Ticket ticket = new Ticket();
+        assertNull(ticket.getCreatedAt());
+
+        LocalDateTime old = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 1);
+        ticket.setCreatedAt(old);
+        assertEquals(old, ticket.getCreatedAt());
+
+        ticket.setCreatedAt(null);
+        assertNull(ticket.getCreatedAt());
+    }
 }
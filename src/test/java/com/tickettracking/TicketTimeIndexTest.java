@@ -0,0 +1,96 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketTimeIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 6, 9, 0);
+
+    private final TicketTimeIndex index = new TicketTimeIndex();
+
+    @Test
+    void createdBetween_returnsRangeOldestFirst() {
+        Ticket third = ticket("3", START.plusHours(2), START.plusHours(2));
+        Ticket first = ticket("1", START, START);
+        Ticket second = ticket("2", START.plusHours(1), START.plusHours(1));
+        index.rebuild(List.of(third, first, second));
+
+        assertEquals(List.of(first, second, third), index.createdBetween(null, null));
+        assertEquals(List.of(second, third), index.createdBetween(START.plusHours(1), null));
+        assertEquals(List.of(first), index.createdBetween(null, START.plusHours(1)));
+        assertEquals(List.of(second), index.createdBetween(START.plusMinutes(1), START.plusHours(2)));
+        assertEquals(List.of(), index.createdBetween(START.plusHours(2), START));
+        assertEquals(2, index.countCreatedBetween(START, START.plusHours(2)));
+    }
+
+    @Test
+    void updated_movesTicketInUpdateIndexOnly() {
+        Ticket original = ticket("1", START, START);
+        Ticket other = ticket("2", START, START.plusHours(1));
+        index.rebuild(List.of(original, other));
+
+        Ticket edited = ticket("1", START, START.plusDays(1));
+        index.updated(edited);
+
+        assertEquals(List.of(other, edited), index.updatedBetween(START, null));
+        assertEquals(List.of(edited), index.updatedBetween(START.plusHours(2), null));
+        // Tickets created at the same time are ordered by ID
+        assertEquals(List.of(edited, other), index.createdBetween(START, START.plusSeconds(1)));
+    }
+
+    @Test
+    void removed_dropsTicketFromBothIndexes() {
+        Ticket ticket = ticket("1", START, START);
+        index.updated(ticket);
+
+        index.removed("1");
+
+        assertEquals(0, index.countCreatedBetween(null, null));
+        assertEquals(0, index.countUpdatedBetween(null, null));
+    }
+
+    @Test
+    void counts_matchRangesAcrossPartialAndWholeMinutes() {
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime time = START.plusSeconds(i * 17L).plusNanos(i);
+            tickets.add(ticket(String.valueOf(i), time, time.plusMinutes(i % 7)));
+        }
+        index.rebuild(tickets);
+        index.removed("5");
+        index.updated(ticket("6", START.plusHours(5), START.plusHours(5)));
+
+        LocalDateTime[] bounds = {null, START.minusMinutes(1), START, START.plusSeconds(30),
+                START.plusMinutes(3), START.plusMinutes(17).plusNanos(1), START.plusMinutes(59).plusSeconds(59),
+                START.plusHours(5), START.plusHours(6)};
+        for (LocalDateTime from : bounds) {
+            for (LocalDateTime to : bounds) {
+                assertEquals(index.createdBetween(from, to).size(), index.countCreatedBetween(from, to), from + " to " + to);
+                assertEquals(index.updatedBetween(from, to).size(), index.countUpdatedBetween(from, to), from + " to " + to);
+            }
+        }
+        assertEquals(199, index.countCreatedBetween(null, null));
+    }
+
+    @Test
+    void ticketsWithoutTimes_areNotIndexed() {
+        index.updated(ticket("1", null, null));
+
+        assertEquals(List.of(), index.createdBetween(null, null));
+    }
+
+    private static Ticket ticket(String id, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle("Ticket " + id);
+        ticket.setCreatedAt(createdAt);
+        ticket.setUpdatedAt(updatedAt);
+        return ticket.snapshot();
+    }
+}
@@ -0,0 +1,65 @@
+package com.tickettracking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures lookup and login cost against a large user directory.
+ * Excluded from the default build; run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class UserServiceBenchmarkTest {
+
+    private static final int USERS = 50_000;
+    private static final Duration LOGIN_BUDGET = Duration.ofMillis(250);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void lookupAndLogin_stayWithinBudget() throws IOException {
+        // Write the directory directly with cheap hashes, so building it stays fast
+        PasswordHasher cheap = new PasswordHasher(1);
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = User.withPasswordHash("user" + i, cheap.hash(("pw" + i).toCharArray()), User.Role.CUSTOMER);
+            user.setId(String.valueOf(i + 1));
+            users.add(user);
+        }
+        new ObjectMapper().writeValue(tempDir.resolve("users.json").toFile(), users);
+
+        long loadStart = System.nanoTime();
+        UserService service = new UserService(tempDir.resolve("users.json"), cheap);
+        System.out.printf("load: %d ms for %d users%n", (System.nanoTime() - loadStart) / 1_000_000, USERS);
+        assertEquals(USERS, service.getAllUsers().size());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < USERS; i++) {
+            assertNotNull(service.findUserByUsername("USER" + i));
+        }
+        long lookupNanos = (System.nanoTime() - start) / USERS;
+        System.out.printf("findUserByUsername: %d ns/op over %d users%n", lookupNanos, USERS);
+
+        // Cost the hasher for half the budget, then log in and let the hash be upgraded
+        PasswordHasher calibrated = PasswordHasher.calibrate(LOGIN_BUDGET.dividedBy(2));
+        UserService production = new UserService(tempDir.resolve("users.json"), calibrated);
+        assertNotNull(production.authenticate("user42", "pw42".toCharArray()));
+
+        start = System.nanoTime();
+        assertNotNull(production.authenticate("user42", "pw42".toCharArray()));
+        Duration login = Duration.ofNanos(System.nanoTime() - start);
+        System.out.printf("authenticate: %d ms at %s%n", login.toMillis(), calibrated);
+
+        assertTrue(login.compareTo(LOGIN_BUDGET) <= 0, "Login took " + login.toMillis() + " ms");
+    }
+}
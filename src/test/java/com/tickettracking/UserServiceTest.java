@@ -2,18 +2,25 @@ package com.tickettracking;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class UserServiceTest {
 
+    @TempDir
+    Path tempDir;
+
     private UserService userService;
+    private PasswordHasher hasher;
 
     @BeforeEach
     void setUp() {
-        userService = new UserService();
+        hasher = new PasswordHasher(1_000);
+        userService = new UserService(tempDir.resolve("users.json"), hasher);
     }
 
     @Test
@@ -67,4 +74,90 @@ class UserServiceTest {
         assertEquals("customer1", current.getUsername());
         assertEquals(User.Role.CUSTOMER, current.getRole());
     }
+
+    @Test
+    void findUserByUsername_ignoresCase() {
+        User admin = userService.findUserByUsername("ADMIN");
+        assertNotNull(admin);
+        assertEquals("admin", admin.getUsername());
+    }
+
+    @Test
+    void passwords_areStoredHashed() {
+        User admin = userService.findUserByUsername("admin");
+        assertNotEquals("admin", admin.getPasswordHash());
+        assertTrue(admin.getPasswordHash().startsWith("pbkdf2-sha256$1000$"));
+    }
+
+    @Test
+    void authenticate_acceptsCorrectPasswordOnly() {
+        assertNotNull(userService.authenticate("support2", "support2".toCharArray()));
+        assertNull(userService.authenticate("support2", "wrong".toCharArray()));
+        assertNull(userService.authenticate("nobody", "nobody".toCharArray()));
+    }
+
+    @Test
+    void authenticate_rehashesWhenCostChanges() {
+        UserService stronger = new UserService(tempDir.resolve("users.json"), new PasswordHasher(2_000));
+        User user = stronger.authenticate("customer1", "customer1".toCharArray());
+
+        assertNotNull(user);
+        assertTrue(user.getPasswordHash().startsWith("pbkdf2-sha256$2000$"));
+    }
+
+    @Test
+    void addUser_persistsAcrossInstances() {
+        userService.addUser("support3", "secret".toCharArray(), User.Role.SUPPORT_STAFF);
+
+        UserService reloaded = new UserService(tempDir.resolve("users.json"), hasher);
+        assertEquals(5, reloaded.getAllUsers().size());
+        assertNotNull(reloaded.authenticate("support3", "secret".toCharArray()));
+    }
+
+    @Test
+    void addUser_rejectsDuplicateUsername() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.addUser("Admin", "x".toCharArray(), User.Role.ADMIN));
+    }
+
+    @Test
+    void removeUser_removesFromIndex() {
+        assertTrue(userService.removeUser("customer1"));
+        assertNull(userService.findUserByUsername("customer1"));
+        assertFalse(userService.removeUser("customer1"));
+    }
+
+    @Test
+    void addUser_neverReusesIdsAfterRemove() {
+        userService.removeUser("support1");
+        User added = userService.addUser("support3", "secret".toCharArray(), User.Role.SUPPORT_STAFF);
+        UserService reopened = new UserService(tempDir.resolve("users.json"), hasher);
+        User addedLater = reopened.addUser("support4", "secret".toCharArray(), User.Role.SUPPORT_STAFF);
+
+        assertEquals("5", added.getId());
+        assertEquals("6", addedLater.getId());
+        assertEquals(5, reopened.getAllUsers().stream().map(User::getId).distinct().count());
+    }
+
+    @Test
+    void getUsernames_isCachedUntilUsersChange() {
+        List<String> first = userService.getUsernames();
+        assertSame(first, userService.getUsernames());
+
+        int[] notifications = {0};
+        userService.addChangeListener(() -> notifications[0]++);
+        userService.addUser("support3", "secret".toCharArray(), User.Role.SUPPORT_STAFF);
+
+        assertEquals(1, notifications[0]);
+        assertNotSame(first, userService.getUsernames());
+        assertTrue(userService.getUsernames().contains("support3"));
+    }
+
+    @Test
+    void findUsernamesByPrefix_followsAddAndRemove() {
+        assertEquals(List.of("support1", "support2"), userService.findUsernamesByPrefix("Sup", 10));
+
+        userService.removeUser("support1");
+        assertEquals(List.of("support2"), userService.findUsernamesByPrefix("sup", 10));
+    }
 }
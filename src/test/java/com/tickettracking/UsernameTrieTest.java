@@ -0,0 +1,38 @@
+package com.tickettracking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UsernameTrieTest {
+
+    @Test
+    void complete_returnsAlphabeticalMatchesIgnoringCase() {
+        UsernameTrie trie = new UsernameTrie();
+        trie.add("support2");
+        trie.add("Support1");
+        trie.add("admin");
+        trie.add("supervisor");
+
+        assertEquals(List.of("supervisor", "Support1", "support2"), trie.complete("SUP", 10));
+        assertEquals(List.of("supervisor", "Support1"), trie.complete("sup", 2));
+        assertEquals(List.of(), trie.complete("x", 10));
+        assertEquals(4, trie.complete("", 10).size());
+    }
+
+    @Test
+    void remove_prunesOnlyThatUsername() {
+        UsernameTrie trie = new UsernameTrie();
+        trie.add("sam");
+        trie.add("samantha");
+
+        assertTrue(trie.remove("SAM"));
+        assertFalse(trie.remove("sam"));
+        assertFalse(trie.remove("sa"));
+
+        assertEquals(List.of("samantha"), trie.complete("s", 10));
+        assertEquals(1, trie.size());
+    }
+}